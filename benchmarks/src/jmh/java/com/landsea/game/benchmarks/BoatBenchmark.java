@@ -0,0 +1,67 @@
+package com.landsea.game.benchmarks;
+
+import com.badlogic.gdx.math.Vector2;
+import com.landsea.game.entities.Boat;
+import com.landsea.game.environment.WindManager;
+import com.landsea.game.world.WorldFixture;
+import com.landsea.game.world.WorldManager;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BoatBenchmark {
+    private static final float STEP = 1f / 60f;
+    private static final int RESET_INTERVAL = 4096; // Steps before the boat is put back at spawn
+
+    private WorldManager worldManager;
+    private WindManager windManager;
+    private Boat boat;
+    private final Vector2 spawn = new Vector2();
+    private int steps;
+
+    @Setup
+    public void setup() {
+        worldManager = WorldFixture.loadedWorld(spawn);
+        windManager = new WindManager();
+        boat = new Boat(spawn.x, spawn.y);
+        if (!boat.getSail().isRaised()) boat.getSail().toggleRaise();
+    }
+
+    @TearDown
+    public void tearDown() {
+        worldManager.dispose();
+    }
+
+    // Keeps the boat inside the pre-generated chunks so every step sees real terrain
+    private void resetIfNeeded() {
+        if (++steps % RESET_INTERVAL == 0) {
+            boat.getPosition().set(spawn);
+            boat.getVelocity().setZero();
+        }
+    }
+
+    @Benchmark
+    public Vector2 updateOpenWater() {
+        resetIfNeeded();
+        windManager.update(STEP);
+        boat.update(STEP, windManager, null);
+        return boat.getPosition();
+    }
+
+    @Benchmark
+    public Vector2 updateWithCollision() {
+        resetIfNeeded();
+        windManager.update(STEP);
+        boat.update(STEP, windManager, worldManager);
+        return boat.getPosition();
+    }
+}
@@ -0,0 +1,72 @@
+package com.landsea.game.benchmarks;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.landsea.game.environment.WindManager;
+import com.landsea.game.simulation.Fleet;
+import com.landsea.game.world.WorldFixture;
+import com.landsea.game.world.WorldManager;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+// One whole fleet step (parallel AI physics, then contacts and autopilot) for a crowd of traders
+// around the spawn point, on one thread versus every core.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FleetBenchmark {
+    private static final float STEP = 1f / 60f;
+    private static final long SEED = 7;
+
+    @Param({"64", "256"})
+    public int vessels;
+
+    @Param({"serial", "parallel"})
+    public String mode;
+
+    private WorldManager worldManager;
+    private WindManager windManager;
+    private Fleet fleet;
+    private final Vector2 spawn = new Vector2();
+
+    @Setup(Level.Trial)
+    public void setupWorld() {
+        worldManager = WorldFixture.loadedWorld(spawn);
+        windManager = new WindManager();
+    }
+
+    // A fresh fleet per iteration so the traders haven't all sailed off the loaded chunks
+    @Setup(Level.Iteration)
+    public void setupFleet() {
+        MathUtils.random.setSeed(SEED);
+        int threads = mode.equals("parallel") ? Runtime.getRuntime().availableProcessors() : 1;
+        fleet = new Fleet(threads, SEED);
+        fleet.populate(spawn.x, spawn.y, 300f, 600f + 200f * (float) Math.sqrt(vessels), vessels, 0);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownFleet() {
+        fleet.dispose();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownWorld() {
+        worldManager.dispose();
+    }
+
+    @Benchmark
+    public Fleet step() {
+        windManager.update(STEP);
+        fleet.step(STEP, windManager, worldManager);
+        return fleet;
+    }
+}
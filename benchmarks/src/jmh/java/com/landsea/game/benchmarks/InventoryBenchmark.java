@@ -0,0 +1,60 @@
+package com.landsea.game.benchmarks;
+
+import com.landsea.game.crafting.CraftingManager;
+import com.landsea.game.crafting.CraftingRecipe;
+import com.landsea.game.inventory.Inventory;
+import com.landsea.game.inventory.ItemType;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InventoryBenchmark {
+    private Inventory inventory;
+    private CraftingManager craftingManager;
+    private List<CraftingRecipe> recipes;
+    private int next;
+
+    @Setup
+    public void setup() {
+        // A player's typical mid-game inventory: ten slots, mostly full
+        inventory = new Inventory(10);
+        inventory.addItem(ItemType.WOOD, 12);
+        inventory.addItem(ItemType.STONE, 6);
+        inventory.addItem(ItemType.FIBER, 5);
+        inventory.addItem(ItemType.ROPE, 1);
+        inventory.addItem(ItemType.COCONUT, 3);
+        inventory.addItem(ItemType.SCRAP, 2);
+        inventory.addItem(ItemType.PLASTIC, 4);
+        craftingManager = new CraftingManager();
+        recipes = craftingManager.getRecipes();
+    }
+
+    // Stacks onto the last slot and takes it back off, leaving the inventory unchanged
+    @Benchmark
+    public boolean addRemoveItem() {
+        inventory.addItem(ItemType.PLASTIC, 1);
+        return inventory.removeItem(ItemType.PLASTIC, 1);
+    }
+
+    // Adds a new slot and empties it again, the path that grows and shrinks the slot list
+    @Benchmark
+    public boolean addRemoveNewStack() {
+        inventory.addItem(ItemType.BERRY, 1);
+        return inventory.removeItem(ItemType.BERRY, 1);
+    }
+
+    @Benchmark
+    public boolean canCraft() {
+        CraftingRecipe recipe = recipes.get(next++ % recipes.size());
+        return craftingManager.canCraft(inventory, recipe);
+    }
+}
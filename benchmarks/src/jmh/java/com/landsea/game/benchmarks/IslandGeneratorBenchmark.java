@@ -0,0 +1,41 @@
+package com.landsea.game.benchmarks;
+
+import com.landsea.game.world.Chunk;
+import com.landsea.game.world.IslandGenerator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IslandGeneratorBenchmark {
+    private IslandGenerator generator;
+    private int next;
+
+    @Setup
+    public void setup() {
+        generator = new IslandGenerator(12345);
+    }
+
+    // A fresh chunk every call, walking rows 1024 chunks wide so calls rarely repeat coordinates
+    @Benchmark
+    public Chunk generateChunk() {
+        int i = next++;
+        Chunk chunk = new Chunk(i & 1023, i >> 10);
+        generator.generateChunk(chunk);
+        return chunk;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public double noise() {
+        int i = next++;
+        return generator.noise((i & 4095) * 0.37, (i >> 12) * 0.61);
+    }
+}
@@ -0,0 +1,89 @@
+package com.landsea.game.benchmarks;
+
+import com.badlogic.gdx.math.Vector2;
+import com.landsea.game.entities.ResourceNode;
+import com.landsea.game.world.Chunk;
+import com.landsea.game.world.WorldFixture;
+import com.landsea.game.world.WorldManager;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WorldManagerBenchmark {
+    private static final int SAMPLES = 4096; // Power of two so the index wraps with a mask
+
+    // World with the 5x5 chunks around spawn loaded, queried at random points inside them
+    @State(Scope.Thread)
+    public static class LoadedWorld {
+        WorldManager worldManager;
+        final float[] xs = new float[SAMPLES];
+        final float[] ys = new float[SAMPLES];
+        final Vector2 query = new Vector2();
+        int next;
+
+        @Setup
+        public void setup() {
+            Vector2 spawn = new Vector2();
+            worldManager = WorldFixture.loadedWorld(spawn);
+
+            float chunkPixels = Chunk.CHUNK_SIZE * Chunk.TILE_SIZE;
+            float minX = (WorldManager.toChunkCoord(spawn.x) - WorldFixture.LOADED_RADIUS) * chunkPixels;
+            float minY = (WorldManager.toChunkCoord(spawn.y) - WorldFixture.LOADED_RADIUS) * chunkPixels;
+            float span = (WorldFixture.LOADED_RADIUS * 2 + 1) * chunkPixels;
+            Random random = new Random(7);
+            for (int i = 0; i < SAMPLES; i++) {
+                xs[i] = minX + random.nextFloat() * span;
+                ys[i] = minY + random.nextFloat() * span;
+            }
+        }
+
+        @TearDown
+        public void tearDown() {
+            worldManager.dispose();
+        }
+    }
+
+    @Benchmark
+    public boolean isLand(LoadedWorld world) {
+        int i = world.next++ & (SAMPLES - 1);
+        return world.worldManager.isLand(world.xs[i], world.ys[i]);
+    }
+
+    @Benchmark
+    public ResourceNode getClosestResource(LoadedWorld world) {
+        int i = world.next++ & (SAMPLES - 1);
+        return world.worldManager.getClosestResource(world.query.set(world.xs[i], world.ys[i]), 50f);
+    }
+
+    // findSafeSpawn generates the chunks it searches, so every call needs an empty world
+    @State(Scope.Thread)
+    public static class EmptyWorld {
+        WorldManager worldManager;
+
+        @Setup(Level.Invocation)
+        public void setup() {
+            worldManager = new WorldManager();
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown() {
+            worldManager.dispose();
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Vector2 findSafeSpawn(EmptyWorld world) {
+        return world.worldManager.findSafeSpawn();
+    }
+}
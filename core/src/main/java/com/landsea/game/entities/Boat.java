@@ -11,30 +11,51 @@ import com.landsea.game.entities.boatparts.HullPart;
 import com.landsea.game.entities.boatparts.RudderPart;
 import com.landsea.game.entities.boatparts.SailPart;
 import com.landsea.game.environment.WindManager;
+import com.landsea.game.graphics.RenderQueue;
 import java.util.ArrayList;
 import java.util.List;
 
-public class Boat {
+public class Boat implements RenderQueue.Drawable {
     private Vector2 position; // World position of the boat's center
     private Vector2 velocity;
     private float angle; // Boat heading in degrees (0 = East/Right, 90 = North/Up)
     private float angularVelocity; // Degrees per second
     
+    // State at the start of the last simulation step, and the blend drawn this frame
+    private final Vector2 previousPosition;
+    private float previousAngle;
+    private final Vector2 renderPosition;
+    private float renderAngle;
+    // Drawing scratch, reused every frame
+    private final com.badlogic.gdx.math.Matrix4 renderTransform = new com.badlogic.gdx.math.Matrix4();
+    private final Vector2 localWind = new Vector2();
+    private WindManager renderWind;
+    
     // Physics Constants
-    private float mass = 3000f; // kg (Increased for weight/inertia)
-    private float momentOfInertia = 12000f; // High resistance to turning (Heavy boat feel)
+    private float mass; // kg, from the hull tiles (see BoatGrid)
+    private float momentOfInertia; // About the centre of mass; high resistance to turning (Heavy boat feel)
+    private float centreOfMassX, centreOfMassY; // Local pixels from the grid centre
     private float dragForward = 0.3f; // Higher drag to limit top speed
     private float dragSideways = 5.0f; // High drag moving sideways (Keel effect)
     private float angularDrag = 10.0f; // High base resistance to spinning
     
     private float kickCooldown = 0f;
+    
+    // Collision against the coastline distance field
+    private static final int MAX_SWEEP_STEPS = 32;
+    private static final float MIN_SWEEP_STEP = 1f; // Pixels; a tile grazing the coast inside the skin still gets along
+    private static final float CONTACT_EPSILON = 0.5f; // Pixels of clearance that count as touching
+    private static final float COLLISION_RESTITUTION = 0.2f; // Fraction of impact speed kept as bounce
+    private static final float MAX_DEPENETRATION = 2f; // Pixels per step when easing out of land
+    private float hullRadius = -1; // Lazily computed, reset when hull tiles are added
+    private float contactNormalX, contactNormalY, contactDepth;
 
     private int width = 10;   // Grid width
     private int height = 10;  // Grid height
     private float tileSize = 32f; // Size of each grid tile in pixels
     
     private List<BoatPart> parts;
-    private int tileCount = 0;
+    private final BoatGrid grid; // Hull occupancy and mass sums
     
     // Cached references for physics/gameplay logic
     private SailPart sail;
@@ -46,7 +67,10 @@ public class Boat {
         this.velocity = new Vector2(0, 0);
         this.angle = 0;
         this.angularVelocity = 0;
+        this.previousPosition = new Vector2(position);
+        this.renderPosition = new Vector2(position);
         this.parts = new ArrayList<>();
+        this.grid = new BoatGrid(width, height);
         
         // Initialize a simple 2x4 raft in the center of the 10x10 grid
         // 2 wide (x), 4 high (y) - composed of two 2x2 sections
@@ -54,9 +78,7 @@ public class Boat {
             for (int y = 0; y < height; y++) {
                 // Center X is 4-5. Center Y is 3-6
                 if (x >= 4 && x <= 5 && y >= 3 && y <= 6) {
-                    HullPart hull = new HullPart(this, x, y);
-                    parts.add(hull);
-                    tileCount++;
+                    addPart(new HullPart(this, x, y));
                 }
             }
         }
@@ -80,38 +102,63 @@ public class Boat {
     }
 
     public void addPart(BoatPart part) {
-        parts.add(part);
         if (part instanceof HullPart) {
-            tileCount++;
-            // Recalculate mass?
-            mass += 50f;
+            if (!grid.add((HullPart) part)) return; // Off the grid or the cell already has a tile
+            hullChanged();
         }
+        parts.add(part);
     }
     
-    public boolean isTileOccupied(int gridX, int gridY) {
-        for (BoatPart part : parts) {
-            if (part instanceof HullPart) {
-                if (part.getGridX() == gridX && part.getGridY() == gridY) {
-                    return true;
-                }
-            }
+    public void removePart(BoatPart part) {
+        if (!parts.remove(part)) return;
+        if (part instanceof HullPart && grid.remove((HullPart) part)) {
+            hullChanged();
         }
-        return false;
+        if (part == sail) sail = null;
+        if (part == rudder) rudder = null;
+        if (part == anchor) anchor = null;
+    }
+    
+    // Mass properties follow the hull; the boat's position stays at the grid centre, so adding
+    // a tile off to one side shifts the centre of mass without moving the boat
+    private void hullChanged() {
+        hullRadius = -1;
+        // Floor at one tile so a boat stripped bare never divides by zero
+        mass = Math.max(grid.getMass(), BoatGrid.TILE_MASS);
+        momentOfInertia = Math.max(grid.getMomentOfInertia(), BoatGrid.TILE_MASS * BoatGrid.INERTIA_SCALE);
+        centreOfMassX = grid.getCentreOfMassX() * tileSize;
+        centreOfMassY = grid.getCentreOfMassY() * tileSize;
     }
+    
+    public boolean isTileOccupied(int gridX, int gridY) {
+        return grid.isOccupied(gridX, gridY);
+    }
+
+    public void update(float delta, WindManager windManager, com.landsea.game.world.CoastField coastField) {
+        previousPosition.set(position);
+        previousAngle = angle;
 
-    public void update(float delta, WindManager windManager, com.landsea.game.world.WorldManager worldManager) {
         if (kickCooldown > 0) kickCooldown -= delta;
 
-        // Update all parts
-        for (BoatPart part : parts) {
-            part.update(delta);
+        // Update all parts (indexed so no iterator is created)
+        for (int i = 0, n = parts.size(); i < n; i++) {
+            parts.get(i).update(delta);
         }
 
-        float gridOriginX = -(width * tileSize) / 2;
-        float gridOriginY = -(height * tileSize) / 2;
+        // Lever arms are measured from the centre of mass, which is what the forces turn the boat about
+        float gridOriginX = -(width * tileSize) / 2 - centreOfMassX;
+        float gridOriginY = -(height * tileSize) / 2 - centreOfMassY;
+
+        // Everything below is plain float math so a step allocates nothing.
+        // The heading rotation is computed once: rotating (x, y) by the boat angle gives
+        // (x * cos - y * sin, x * sin + y * cos), and by -angle (x * cos + y * sin, y * cos - x * sin).
+        float angleRad = angle * MathUtils.degreesToRadians;
+        float cos = (float) Math.cos(angleRad);
+        float sin = (float) Math.sin(angleRad);
 
         // 1. Calculate Forces
-        Vector2 totalForce = new Vector2(0, 0);
+        float forceX = 0;
+        float forceY = 0;
         float totalTorque = 0;
         
         // A. Sail Force (Thrust)
@@ -120,242 +167,437 @@ public class Boat {
             float windSpeed = wind.len();
             
             // Boat "Forward" is Y-axis (Up) in local space
-            Vector2 boatHeading = new Vector2(0, 1).rotateDeg(angle);
-            Vector2 windDir = wind.cpy().nor();
+            float headingX = -sin;
+            float headingY = cos;
+            float windDirX = windSpeed != 0 ? wind.x / windSpeed : 0;
+            float windDirY = windSpeed != 0 ? wind.y / windSpeed : 0;
             
-            float dot = boatHeading.dot(windDir); // 1.0 = Downwind, -1.0 = Upwind
+            float dot = headingX * windDirX + headingY * windDirY; // 1.0 = Downwind, -1.0 = Upwind
             
-            // Calculate Sail Position relative to Center of Mass
-            float sailLocalX = gridOriginX + sail.getGridX() * tileSize + tileSize / 2;
-            float sailLocalY = gridOriginY + sail.getGridY() * tileSize + tileSize / 2;
-            Vector2 sailPos = new Vector2(sailLocalX, sailLocalY);
+            // Sail position relative to the centre of mass
+            float leverX = gridOriginX + sail.getGridX() * tileSize + tileSize / 2;
+            float leverY = gridOriginY + sail.getGridY() * tileSize + tileSize / 2;
             
-            Vector2 clr = new Vector2(0, 0);
-            Vector2 leverArm = sailPos.cpy().sub(clr);
-            
-            Vector2 windForce = new Vector2(0, 0);
+            float windForceX;
+            float windForceY;
             
             if (dot > -0.75f) { 
                 // Sailing Mode
                 float efficiency = (dot + 0.75f) / 1.75f; 
                 float thrustMag = windSpeed * efficiency * 500.0f; // Reduced thrust for slower acceleration
-                Vector2 forwardThrust = boatHeading.cpy().scl(thrustMag);
                 
-                // Sideways Force
-                float cross = boatHeading.x * windDir.y - boatHeading.y * windDir.x;
-                Vector2 sideDir = boatHeading.cpy().rotate90(cross > 0 ? -1 : 1); 
+                // Sideways Force, perpendicular to the heading on the leeward side
+                float cross = headingX * windDirY - headingY * windDirX;
+                float sideDirX = cross > 0 ? headingY : -headingY;
+                float sideDirY = cross > 0 ? -headingX : headingX;
                 float sideFactor = 1.0f - (dot + 1.0f) / 2.0f; 
                 float sideMag = windSpeed * sideFactor * 500.0f; // Reduced side force
                 
-                Vector2 sideForce = sideDir.scl(sideMag);
-                windForce = forwardThrust.add(sideForce);
+                windForceX = headingX * thrustMag + sideDirX * sideMag;
+                windForceY = headingY * thrustMag + sideDirY * sideMag;
             } else {
                 // In Irons
                 float dragMag = windSpeed * 50.0f; 
-                windForce = windDir.cpy().scl(dragMag);
+                windForceX = windDirX * dragMag;
+                windForceY = windDirY * dragMag;
             }
             
-            totalForce.add(windForce);
+            forceX += windForceX;
+            forceY += windForceY;
             
             // Apply Torque
-            Vector2 localWindForce = windForce.cpy().rotateDeg(-angle);
-            float torque = leverArm.x * localWindForce.y - leverArm.y * localWindForce.x;
+            float localWindForceX = windForceX * cos + windForceY * sin;
+            float localWindForceY = windForceY * cos - windForceX * sin;
+            float torque = leverX * localWindForceY - leverY * localWindForceX;
             totalTorque += torque * 0.5f; 
         }
         
         // B. Hydrodynamic Forces (Drag & Keel)
-        Vector2 localVel = velocity.cpy().rotateDeg(-angle);
-        float fDrag = -localVel.y * dragForward * localVel.y * Math.signum(localVel.y); 
-        float sDrag = -localVel.x * dragSideways * Math.abs(localVel.x); 
-        Vector2 localDragForce = new Vector2(sDrag, fDrag);
-        totalForce.add(localDragForce.rotateDeg(angle));
+        float localVelX = velocity.x * cos + velocity.y * sin;
+        float localVelY = velocity.y * cos - velocity.x * sin;
+        float fDrag = -localVelY * dragForward * localVelY * Math.signum(localVelY); 
+        float sDrag = -localVelX * dragSideways * Math.abs(localVelX); 
+        forceX += sDrag * cos - fDrag * sin;
+        forceY += sDrag * sin + fDrag * cos;
+        
+        float omegaRad = angularVelocity * MathUtils.degreesToRadians;
         
         // C. Rudder Forces
         if (rudder != null) {
             float rudderLocalX = gridOriginX + rudder.getGridX() * tileSize + tileSize / 2;
             float rudderLocalY = gridOriginY + rudder.getGridY() * tileSize + tileSize / 2;
-            Vector2 rudderPosLocal = new Vector2(rudderLocalX, rudderLocalY);
             
-            float omegaRad = angularVelocity * MathUtils.degreesToRadians;
-            Vector2 tangentialVel = new Vector2(-omegaRad * rudderPosLocal.y, omegaRad * rudderPosLocal.x);
-            Vector2 rudderVel = localVel.cpy().add(tangentialVel);
-            Vector2 waterFlow = rudderVel.cpy().scl(-1);
+            // Water flows past the rudder opposite to its own velocity (hull velocity + spin)
+            float waterFlowX = -(localVelX - omegaRad * rudderLocalY);
+            float waterFlowY = -(localVelY + omegaRad * rudderLocalX);
             
-            Vector2 rudderDir = new Vector2(0, 1).rotateDeg(rudder.getAngle());
-            Vector2 rudderNormal = rudderDir.cpy().rotate90(1); 
+            // Rudder blade points along local +Y rotated by the rudder angle; its normal is 90 degrees left of that
+            float rudderRad = rudder.getAngle() * MathUtils.degreesToRadians;
+            float rudderNormalX = -(float) Math.cos(rudderRad);
+            float rudderNormalY = -(float) Math.sin(rudderRad);
             
-            float normalFlow = waterFlow.dot(rudderNormal);
+            float normalFlow = waterFlowX * rudderNormalX + waterFlowY * rudderNormalY;
             float rudderForceMag = normalFlow * 100.0f; 
             
-            Vector2 rudderForceLocal = rudderNormal.cpy().scl(rudderForceMag);
-            totalForce.add(rudderForceLocal.cpy().rotateDeg(angle));
+            float rudderForceX = rudderNormalX * rudderForceMag;
+            float rudderForceY = rudderNormalY * rudderForceMag;
+            forceX += rudderForceX * cos - rudderForceY * sin;
+            forceY += rudderForceX * sin + rudderForceY * cos;
             
-            float rudderTorque = rudderPosLocal.x * rudderForceLocal.y - rudderPosLocal.y * rudderForceLocal.x;
+            float rudderTorque = rudderLocalX * rudderForceY - rudderLocalY * rudderForceX;
             totalTorque += rudderTorque;
         }
         
         // D. Angular Drag
-        float currentAngularDrag = angularDrag + (tileCount * 2.0f); 
+        float currentAngularDrag = angularDrag + (grid.getHullCount() * 2.0f); 
         totalTorque -= angularVelocity * currentAngularDrag * 50f; 
         
         // E. Anchor Drag
         if (anchor != null && anchor.isDropped()) {
             float anchorLocalX = gridOriginX + anchor.getGridX() * tileSize + tileSize / 2;
             float anchorLocalY = gridOriginY + anchor.getGridY() * tileSize + tileSize / 2;
-            Vector2 anchorPosLocal = new Vector2(anchorLocalX, anchorLocalY);
             
-            float anchorOmegaRad = angularVelocity * MathUtils.degreesToRadians;
-            Vector2 anchorTangentialVel = new Vector2(-anchorOmegaRad * anchorPosLocal.y, anchorOmegaRad * anchorPosLocal.x);
-            Vector2 anchorVel = localVel.cpy().add(anchorTangentialVel);
+            float anchorDragX = (localVelX - omegaRad * anchorLocalY) * -500.0f;
+            float anchorDragY = (localVelY + omegaRad * anchorLocalX) * -500.0f;
+            forceX += anchorDragX * cos - anchorDragY * sin;
+            forceY += anchorDragX * sin + anchorDragY * cos;
             
-            Vector2 anchorDrag = anchorVel.cpy().scl(-500.0f); 
-            totalForce.add(anchorDrag.cpy().rotateDeg(angle));
-            
-            float anchorTorque = anchorPosLocal.x * anchorDrag.y - anchorPosLocal.y * anchorDrag.x;
+            float anchorTorque = anchorLocalX * anchorDragY - anchorLocalY * anchorDragX;
             totalTorque += anchorTorque;
         }
         
-        // 2. Integrate Physics (Euler)
-        Vector2 acceleration = totalForce.scl(1.0f / mass);
-        velocity.add(acceleration.scl(delta));
+        // 2. Integrate Physics (Euler); velocity is that of the centre of mass
+        velocity.add(forceX / mass * delta, forceY / mass * delta);
         position.add(velocity.x * delta, velocity.y * delta);
         
         float angularAccel = totalTorque / momentOfInertia;
         angularVelocity += angularAccel * delta;
-        angle += angularVelocity * delta;
+        float turn = angularVelocity * delta;
+        angle += turn;
+        
+        // Spin about the centre of mass rather than the grid centre: swing the grid centre around it
+        if (turn != 0 && (centreOfMassX != 0 || centreOfMassY != 0)) {
+            float comX = centreOfMassX * cos - centreOfMassY * sin;
+            float comY = centreOfMassX * sin + centreOfMassY * cos;
+            float turnRad = turn * MathUtils.degreesToRadians;
+            float turnCos = (float) Math.cos(turnRad);
+            float turnSin = (float) Math.sin(turnRad);
+            position.add(comX - (comX * turnCos - comY * turnSin), comY - (comX * turnSin + comY * turnCos));
+        }
+        
+        // Collision Detection: sweep the hull from where this step started to where it ended
+        if (coastField != null) {
+            float toi = sweepHull(coastField, previousPosition.x, previousPosition.y, previousAngle,
+                                  position.x, position.y, angle);
+            if (toi >= 0) {
+                float normalX = contactNormalX;
+                float normalY = contactNormalY;
+                float depth = contactDepth;
+                
+                // Stop at the point of contact
+                float endX = position.x;
+                float endY = position.y;
+                float contactX = previousPosition.x + (endX - previousPosition.x) * toi;
+                float contactY = previousPosition.y + (endY - previousPosition.y) * toi;
+                angle = previousAngle + (angle - previousAngle) * toi;
+                
+                // Spend the rest of the step sliding along the coast instead of sticking to it
+                float restX = endX - contactX;
+                float restY = endY - contactY;
+                float restInto = restX * normalX + restY * normalY;
+                if (restInto < 0) {
+                    restX -= normalX * restInto;
+                    restY -= normalY * restInto;
+                }
+                float slide = sweepHull(coastField, contactX, contactY, angle, contactX + restX, contactY + restY, angle);
+                if (slide < 0) {
+                    slide = 1;
+                } else {
+                    // Wedged into a corner: the second wall takes its share of the velocity too
+                    bounce(contactNormalX, contactNormalY);
+                }
+                position.set(contactX + restX * slide, contactY + restY * slide);
+                
+                bounce(normalX, normalY);
+                angularVelocity *= 0.5f;
+                
+                // Touching or overlapping from the start (spawned, pushed, or wedged last step): ease back out
+                // to the contact skin so the next sweep doesn't hit at t = 0 again
+                if (depth > 0) {
+                    float push = Math.min(depth, MAX_DEPENETRATION);
+                    position.add(normalX * push, normalY * push);
+                }
+            }
+        }
+    }
+    
+    // Reflects the part of the velocity heading into the land, keeping COLLISION_RESTITUTION of it
+    private void bounce(float normalX, float normalY) {
+        float intoLand = velocity.x * normalX + velocity.y * normalY;
+        if (intoLand < 0) {
+            float impulse = -(1 + COLLISION_RESTITUTION) * intoLand;
+            velocity.add(normalX * impulse, normalY * impulse);
+        }
+    }
+    
+    // Sweeps every hull tile, as a circle, along its straight path from the start pose to the end
+    // pose through the coastline distance field (sphere tracing: each step advances by the
+    // clearance the field guarantees, at least MIN_SWEEP_STEP). A tile that runs out of steps
+    // before the end of its path counts as touching where it got to, so nothing is ever passed
+    // through. Returns the earliest time of impact in 0..1, or -1 if the whole path is clear; the contact normal (pointing out of the land) and how far the tile
+    // already was inside the contact skin at the start are left in contactNormalX/Y and contactDepth.
+    public float sweepHull(com.landsea.game.world.CoastField coastField,
+                           float startX, float startY, float startAngle,
+                           float endX, float endY, float endAngle) {
+        float gridOriginX = -(width * tileSize) / 2;
+        float gridOriginY = -(height * tileSize) / 2;
+        float tileRadius = tileSize / 2;
+        
+        // Broadphase: every hull tile stays within the hull radius of the centre however the boat
+        // turns, so one sample at the centre clears the whole hull while far from any coast
+        float moveX = endX - startX;
+        float moveY = endY - startY;
+        float centreClearance = coastField.sampleCoastDistance(startX, startY) * 0.7f;
+        if (centreClearance - getHullRadius() > (float) Math.sqrt(moveX * moveX + moveY * moveY)) {
+            return -1;
+        }
+        
+        float startRad = startAngle * MathUtils.degreesToRadians;
+        float startCos = (float) Math.cos(startRad);
+        float startSin = (float) Math.sin(startRad);
+        float endRad = endAngle * MathUtils.degreesToRadians;
+        float endCos = (float) Math.cos(endRad);
+        float endSin = (float) Math.sin(endRad);
         
-        // Collision Detection
-        if (worldManager != null && checkCollision(worldManager)) {
-            position.add(-velocity.x * delta, -velocity.y * delta);
-            angle -= angularVelocity * delta;
-            velocity.scl(-0.2f); 
-            angularVelocity *= 0.5f;
+        float earliest = 2f;
+        float hitX = 0, hitY = 0, hitDirX = 0, hitDirY = 0;
+        contactDepth = 0;
+        
+        for (int i = 0, n = grid.getHullCount(); i < n; i++) {
+            float localX = gridOriginX + grid.getHullX(i) * tileSize + tileSize / 2;
+            float localY = gridOriginY + grid.getHullY(i) * tileSize + tileSize / 2;
+            float x0 = startX + localX * startCos - localY * startSin;
+            float y0 = startY + localX * startSin + localY * startCos;
+            float dirX = endX + localX * endCos - localY * endSin - x0;
+            float dirY = endY + localX * endSin + localY * endCos - y0;
+            float length = (float) Math.sqrt(dirX * dirX + dirY * dirY);
+            
+            float t = 0;
+            int step = 0;
+            for (; step < MAX_SWEEP_STEPS && t < earliest; step++) {
+                float px = x0 + dirX * t;
+                float py = y0 + dirY * t;
+                float clearance = coastField.sampleCoastDistance(px, py) - tileRadius;
+                
+                if (clearance < CONTACT_EPSILON) {
+                    // Only a hit if this tile is heading further in; sliding out along the coast is fine
+                    coastNormal(coastField, px, py, dirX, dirY);
+                    if (dirX * contactNormalX + dirY * contactNormalY < 0 || length < 1e-4f) {
+                        if (t == 0) contactDepth = Math.max(contactDepth, CONTACT_EPSILON - clearance);
+                        if (t < earliest) {
+                            earliest = t;
+                            hitX = px;
+                            hitY = py;
+                            hitDirX = dirX;
+                            hitDirY = dirY;
+                        }
+                        break;
+                    }
+                    clearance = CONTACT_EPSILON;
+                }
+                if (length < 1e-4f) break;
+                
+                // Bilinear interpolation can make the field up to sqrt(2) steeper than a true
+                // distance, so only trust 70% of the reported clearance
+                t += Math.max(clearance * 0.7f, MIN_SWEEP_STEP) / length;
+                if (t >= 1) break;
+            }
+            if (step == MAX_SWEEP_STEPS && t < earliest) {
+                // Out of steps short of the end (a long slide along the coast): the rest of the path is unproven
+                earliest = t;
+                hitX = x0 + dirX * t;
+                hitY = y0 + dirY * t;
+                hitDirX = dirX;
+                hitDirY = dirY;
+            }
+        }
+        
+        if (earliest > 1) return -1;
+        coastNormal(coastField, hitX, hitY, hitDirX, hitDirY);
+        return earliest;
+    }
+    
+    // Unit gradient of the coast distance field at a point (points from land to water). Falls back
+    // to pushing straight back along the motion where the field is flat.
+    private void coastNormal(com.landsea.game.world.CoastField coastField, float x, float y, float dirX, float dirY) {
+        float h = com.landsea.game.world.Chunk.COAST_UNIT;
+        float gx = coastField.sampleCoastDistance(x + h, y) - coastField.sampleCoastDistance(x - h, y);
+        float gy = coastField.sampleCoastDistance(x, y + h) - coastField.sampleCoastDistance(x, y - h);
+        float len = (float) Math.sqrt(gx * gx + gy * gy);
+        if (len < 1e-6f) {
+            gx = -dirX;
+            gy = -dirY;
+            len = (float) Math.sqrt(gx * gx + gy * gy);
+            if (len < 1e-6f) {
+                gx = 0;
+                gy = 1;
+                len = 1;
+            }
+        }
+        contactNormalX = gx / len;
+        contactNormalY = gy / len;
+    }
+    
+    // Radius of a circle around the boat centre that contains every hull tile
+    public float getHullRadius() {
+        if (hullRadius < 0) {
+            float gridOriginX = -(width * tileSize) / 2;
+            float gridOriginY = -(height * tileSize) / 2;
+            float max = 0;
+            for (int i = 0, n = grid.getHullCount(); i < n; i++) {
+                float localX = gridOriginX + grid.getHullX(i) * tileSize + tileSize / 2;
+                float localY = gridOriginY + grid.getHullY(i) * tileSize + tileSize / 2;
+                max = Math.max(max, (float) Math.sqrt(localX * localX + localY * localY));
+            }
+            hullRadius = max + tileSize / 2;
         }
+        return hullRadius;
     }
     
     public void kickOff(com.landsea.game.world.WorldManager worldManager) {
         if (kickCooldown > 0) return;
 
-        Vector2 pushVector = new Vector2(0, 0);
+        float pushX = 0;
+        float pushY = 0;
         float gridOriginX = -(width * tileSize) / 2;
         float gridOriginY = -(height * tileSize) / 2;
+        float angleRad = angle * MathUtils.degreesToRadians;
+        float cos = (float) Math.cos(angleRad);
+        float sin = (float) Math.sin(angleRad);
+        float checkDist = tileSize * 2.0f;
         
         boolean foundLand = false;
 
-        for (BoatPart part : parts) {
+        for (int i = 0, n = parts.size(); i < n; i++) {
+            BoatPart part = parts.get(i);
             if (part instanceof HullPart) {
                 float tileLocalX = gridOriginX + part.getGridX() * tileSize + tileSize / 2;
                 float tileLocalY = gridOriginY + part.getGridY() * tileSize + tileSize / 2;
+                float tileX = position.x + tileLocalX * cos - tileLocalY * sin;
+                float tileY = position.y + tileLocalX * sin + tileLocalY * cos;
                 
-                Vector2 tilePos = new Vector2(tileLocalX, tileLocalY);
-                tilePos.rotateDeg(angle);
-                tilePos.add(position);
-                
-                float checkDist = tileSize * 2.0f;
-                
-                if (worldManager.isLand(tilePos.x + checkDist, tilePos.y)) { pushVector.add(-1, 0); foundLand = true; }
-                if (worldManager.isLand(tilePos.x - checkDist, tilePos.y)) { pushVector.add(1, 0); foundLand = true; }
-                if (worldManager.isLand(tilePos.x, tilePos.y + checkDist)) { pushVector.add(0, -1); foundLand = true; }
-                if (worldManager.isLand(tilePos.x, tilePos.y - checkDist)) { pushVector.add(0, 1); foundLand = true; }
+                if (worldManager.isLand(tileX + checkDist, tileY)) { pushX -= 1; foundLand = true; }
+                if (worldManager.isLand(tileX - checkDist, tileY)) { pushX += 1; foundLand = true; }
+                if (worldManager.isLand(tileX, tileY + checkDist)) { pushY -= 1; foundLand = true; }
+                if (worldManager.isLand(tileX, tileY - checkDist)) { pushY += 1; foundLand = true; }
             }
         }
         
         if (!foundLand && velocity.len() < 10f) {
-             Vector2 heading = new Vector2(0, 1).rotateDeg(angle);
-             pushVector = heading.scl(-1);
+             // Push backwards along the heading
+             pushX = sin;
+             pushY = -cos;
              foundLand = true;
         }
         
         if (foundLand) {
-            pushVector.nor();
-            pushVector.rotateDeg(MathUtils.randomSign() * 45f);
-            velocity.add(pushVector.scl(80f)); 
+            float len = (float) Math.sqrt(pushX * pushX + pushY * pushY);
+            if (len != 0) {
+                pushX /= len;
+                pushY /= len;
+            }
+            float kickRad = MathUtils.randomSign() * 45f * MathUtils.degreesToRadians;
+            float kickCos = (float) Math.cos(kickRad);
+            float kickSin = (float) Math.sin(kickRad);
+            velocity.add((pushX * kickCos - pushY * kickSin) * 80f, (pushX * kickSin + pushY * kickCos) * 80f); 
             angularVelocity += MathUtils.random(-30, 30); 
             kickCooldown = 1.0f;
         }
     }
     
-    private boolean checkCollision(com.landsea.game.world.WorldManager worldManager) {
-        float gridOriginX = -(width * tileSize) / 2;
-        float gridOriginY = -(height * tileSize) / 2;
-        
-        for (BoatPart part : parts) {
-            if (part instanceof HullPart) {
-                float tileLocalX = gridOriginX + part.getGridX() * tileSize + tileSize / 2;
-                float tileLocalY = gridOriginY + part.getGridY() * tileSize + tileSize / 2;
-                
-                Vector2 tilePos = new Vector2(tileLocalX, tileLocalY);
-                tilePos.rotateDeg(angle);
-                tilePos.add(position);
-                
-                if (worldManager.isLand(tilePos.x, tilePos.y)) {
-                    return true;
-                }
-            }
-        }
-        return false;
+    // Blends the last two simulation states for drawing; alpha comes from the simulation clock
+    public void interpolate(float alpha) {
+        renderPosition.set(previousPosition).lerp(position, alpha);
+        renderAngle = previousAngle + (angle - previousAngle) * alpha;
     }
 
-    public void render(ShapeRenderer shapeRenderer, WindManager windManager) {
-        com.badlogic.gdx.math.Matrix4 originalMatrix = shapeRenderer.getTransformMatrix().cpy();
-        
-        com.badlogic.gdx.math.Matrix4 newMatrix = originalMatrix.cpy();
-        newMatrix.translate(position.x, position.y, 0);
-        newMatrix.rotate(0, 0, 1, angle);
-        
-        shapeRenderer.setTransformMatrix(newMatrix);
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled); 
-        
-        // Render all parts
-        // Note: Some parts might need specific render calls (like Sail with wind)
-        // But BoatPart.render(ShapeRenderer) is generic.
-        // SailPart has an overloaded render(ShapeRenderer, Vector2).
-        
-        // We should probably iterate and check types if we want to pass wind,
-        // or update SailPart to store wind reference? No, passing is better.
-        
-        // Let's render HullParts first (bottom layer)
+    // Queues the boat for drawing in its own frame (one transform per boat, rebuilt in place)
+    public void submit(RenderQueue queue, WindManager windManager) {
+        renderWind = windManager;
+        renderTransform.setToTranslation(renderPosition.x, renderPosition.y, 0);
+        renderTransform.rotate(0, 0, 1, renderAngle);
+        queue.submit(RenderQueue.Layer.BOATS, ShapeRenderer.ShapeType.Filled, renderTransform, this);
+    }
+
+    // Called by the queue with the boat's transform applied; hull first so it's the bottom layer
+    @Override
+    public void draw(ShapeRenderer shapeRenderer) {
         for (BoatPart part : parts) {
             if (part instanceof HullPart) {
                 part.render(shapeRenderer);
             }
         }
         
-        // Render other parts
         for (BoatPart part : parts) {
             if (!(part instanceof HullPart)) {
                 if (part instanceof SailPart) {
-                    Vector2 localWind = windManager.getWindVector().cpy().rotateDeg(-angle);
+                    localWind.set(renderWind.getWindVector()).rotateDeg(-renderAngle);
                     ((SailPart) part).render(shapeRenderer, localWind);
                 } else {
                     part.render(shapeRenderer);
                 }
             }
         }
-        
-        shapeRenderer.end(); 
-        shapeRenderer.setTransformMatrix(originalMatrix);
     }
 
     public Vector2 getPosition() {
         return position;
     }
     
-    public Vector2 getRudderWorldPosition() {
-        if (rudder == null) return position.cpy();
-        
+    public Vector2 getRenderPosition() {
+        return renderPosition;
+    }
+    
+    public float getRenderAngle() {
+        return renderAngle;
+    }
+    
+    // Where the wake comes off the boat: both corners of the stern-most hull row, then the rudder
+    // if there is one. Writes world x, y pairs into out (room for 3) and returns how many points.
+    public int getWakeEmitters(float[] out) {
+        if (grid.getHullCount() == 0) return 0;
+        int sternY = Integer.MAX_VALUE, minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE;
+        for (int i = 0, n = grid.getHullCount(); i < n; i++) {
+            int y = grid.getHullY(i);
+            if (y < sternY) {
+                sternY = y;
+                minX = maxX = grid.getHullX(i);
+            } else if (y == sternY) {
+                minX = Math.min(minX, grid.getHullX(i));
+                maxX = Math.max(maxX, grid.getHullX(i));
+            }
+        }
+
         float gridOriginX = -(width * tileSize) / 2;
         float gridOriginY = -(height * tileSize) / 2;
-        
-        float rudderLocalX = gridOriginX + rudder.getGridX() * tileSize + tileSize / 2;
-        float rudderLocalY = gridOriginY + rudder.getGridY() * tileSize + tileSize / 2;
-        
-        Vector2 localPos = new Vector2(rudderLocalX, rudderLocalY);
-        localPos.rotateDeg(angle);
-        
-        return position.cpy().add(localPos);
+        float rad = angle * MathUtils.degreesToRadians;
+        float cos = MathUtils.cos(rad), sin = MathUtils.sin(rad);
+        int count = 0;
+        count = emitter(out, count, gridOriginX + minX * tileSize, gridOriginY + sternY * tileSize, cos, sin);
+        count = emitter(out, count, gridOriginX + (maxX + 1) * tileSize, gridOriginY + sternY * tileSize, cos, sin);
+        if (rudder != null) {
+            count = emitter(out, count, gridOriginX + rudder.getGridX() * tileSize + tileSize / 2,
+                gridOriginY + rudder.getGridY() * tileSize + tileSize / 2, cos, sin);
+        }
+        return count;
     }
-    
+
+    private int emitter(float[] out, int count, float localX, float localY, float cos, float sin) {
+        out[count * 2] = position.x + localX * cos - localY * sin;
+        out[count * 2 + 1] = position.y + localX * sin + localY * cos;
+        return count + 1;
+    }
+
     public float getAngle() {
         return angle;
     }
@@ -396,17 +638,38 @@ public class Boat {
         float gridOriginX = -(width * tileSize) / 2;
         float gridOriginY = -(height * tileSize) / 2;
         
-        int gridX = (int)((localX - gridOriginX) / tileSize);
-        int gridY = (int)((localY - gridOriginY) / tileSize);
-        
-        if (gridX >= 0 && gridX < width && gridY >= 0 && gridY < height) {
-            // Check if there is a HullPart at this location
-            for (BoatPart part : parts) {
-                if (part instanceof HullPart && (int)part.getGridX() == gridX && (int)part.getGridY() == gridY) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        // Floor rather than truncate, so the half tile just outside the grid's low edges isn't cell 0
+        int gridX = MathUtils.floor((localX - gridOriginX) / tileSize);
+        int gridY = MathUtils.floor((localY - gridOriginY) / tileSize);
+        return grid.isOccupied(gridX, gridY);
+    }
+    
+    public BoatGrid getGrid() {
+        return grid;
+    }
+    
+    public float getMass() {
+        return mass;
+    }
+    
+    public float getMomentOfInertia() {
+        return momentOfInertia;
+    }
+    
+    // Local pixels from the grid centre
+    public float getCentreOfMassX() {
+        return centreOfMassX;
+    }
+    
+    public float getCentreOfMassY() {
+        return centreOfMassY;
+    }
+    
+    public float getAngularVelocity() {
+        return angularVelocity;
+    }
+    
+    public void setAngularVelocity(float angularVelocity) {
+        this.angularVelocity = angularVelocity;
     }
 }
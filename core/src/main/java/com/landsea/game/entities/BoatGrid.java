@@ -0,0 +1,133 @@
+package com.landsea.game.entities;
+
+import com.landsea.game.entities.boatparts.HullPart;
+
+// Which cells of the boat's build grid have a hull tile, kept up to date as tiles are added and
+// removed so occupancy checks are a bit test instead of a scan over every part.
+//
+// Also keeps running sums over the hull (tile count, first and second moments about the grid
+// centre) so mass, centre of mass and moment of inertia are a few multiplies per query rather
+// than a pass over the raft. Distances in the sums are in tiles.
+public class BoatGrid {
+    public static final float TILE_MASS = 375f; // kg; the starting 8-tile raft weighs the old 3000
+    // Tile units to the physics' pixel-torque units; picked so the starting raft keeps its hand-tuned 12000
+    public static final float INERTIA_SCALE = 2.4f;
+    // A square tile's own inertia about its centre, per unit mass, in tiles^2 (side^2 / 6)
+    private static final float TILE_SELF_INERTIA = 1f / 6f;
+
+    private final int width, height;
+    private final long[] occupied; // One bit per cell, indexed x * height + y
+    private final HullPart[] hulls; // The hull tile in each cell, or null
+    // Occupied cell indices packed at the front (unordered), so the hull can be walked without
+    // visiting empty cells; slots[cell] is where a cell sits in that list
+    private final int[] cells;
+    private final int[] slots;
+
+    private int hullCount;
+    private float sumX, sumY; // Sum of tile centre offsets from the grid centre
+    private float sumSquared; // Sum of squared tile centre distances from the grid centre
+
+    public BoatGrid(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.occupied = new long[(width * height + 63) / 64];
+        this.hulls = new HullPart[width * height];
+        this.cells = new int[width * height];
+        this.slots = new int[width * height];
+    }
+
+    public boolean inBounds(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    public boolean isOccupied(int x, int y) {
+        if (!inBounds(x, y)) return false;
+        int i = x * height + y;
+        return (occupied[i >> 6] & (1L << i)) != 0;
+    }
+
+    public HullPart getHull(int x, int y) {
+        return inBounds(x, y) ? hulls[x * height + y] : null;
+    }
+
+    // Returns false if the cell is outside the grid or already has a tile
+    public boolean add(HullPart hull) {
+        int x = (int) hull.getGridX();
+        int y = (int) hull.getGridY();
+        if (isOccupied(x, y) || !inBounds(x, y)) return false;
+        int i = x * height + y;
+        occupied[i >> 6] |= 1L << i;
+        hulls[i] = hull;
+        cells[hullCount] = i;
+        slots[i] = hullCount;
+        accumulate(x, y, 1);
+        return true;
+    }
+
+    public boolean remove(HullPart hull) {
+        int x = (int) hull.getGridX();
+        int y = (int) hull.getGridY();
+        if (getHull(x, y) != hull) return false;
+        int i = x * height + y;
+        occupied[i >> 6] &= ~(1L << i);
+        hulls[i] = null;
+        // Swap the last occupied cell into the hole
+        int last = cells[hullCount - 1];
+        cells[slots[i]] = last;
+        slots[last] = slots[i];
+        accumulate(x, y, -1);
+        return true;
+    }
+
+    private void accumulate(int x, int y, int sign) {
+        float dx = x + 0.5f - width / 2f;
+        float dy = y + 0.5f - height / 2f;
+        hullCount += sign;
+        sumX += sign * dx;
+        sumY += sign * dy;
+        sumSquared += sign * (dx * dx + dy * dy);
+    }
+
+    public int getHullCount() {
+        return hullCount;
+    }
+
+    // Cell of the index-th hull tile, index in [0, getHullCount())
+    public int getHullX(int index) {
+        return cells[index] / height;
+    }
+
+    public int getHullY(int index) {
+        return cells[index] % height;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public float getMass() {
+        return hullCount * TILE_MASS;
+    }
+
+    // Centre of mass relative to the grid centre, in tiles
+    public float getCentreOfMassX() {
+        return hullCount > 0 ? sumX / hullCount : 0;
+    }
+
+    public float getCentreOfMassY() {
+        return hullCount > 0 ? sumY / hullCount : 0;
+    }
+
+    // About the centre of mass (parallel axis theorem), already in physics units
+    public float getMomentOfInertia() {
+        if (hullCount == 0) return 0;
+        float comX = sumX / hullCount;
+        float comY = sumY / hullCount;
+        float aboutCentre = sumSquared + hullCount * TILE_SELF_INERTIA;
+        return (aboutCentre - hullCount * (comX * comX + comY * comY)) * TILE_MASS * INERTIA_SCALE;
+    }
+}
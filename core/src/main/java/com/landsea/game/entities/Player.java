@@ -17,6 +17,8 @@ import com.landsea.game.entities.ResourceNode;
 
 public class Player {
     private Vector2 localPosition; // Position relative to the boat center
+    private final Vector2 previousLocalPosition = new Vector2();
+    private final Vector2 renderPosition = new Vector2(); // Interpolated world position for drawing
     private Boat boat;
     private float speed = 150f; // Pixels per second
     private float size = 10f;
@@ -54,6 +56,8 @@ public class Player {
     }
 
     public void update(float delta, float moveX, float moveY, WorldManager worldManager) {
+        previousLocalPosition.set(localPosition);
+
         // Update Vitals
         hunger -= 0.5f * delta; // Drains in ~200s
         thirst -= 0.8f * delta; // Drains in ~125s
@@ -192,7 +196,7 @@ public class Player {
             // If we have a tool but it wasn't the preferred one, we might still use it?
             // For now, only use tool if it matches.
             
-            ItemStack stack = node.takeDamage(damage);
+            ItemStack stack = worldManager.damageResource(node, damage);
             
             // Damage tool
             if (tool != null) {
@@ -275,7 +279,7 @@ public class Player {
                 // Check if too close to other resources?
                 // For now just place it
                 inventory.removeItem(ItemType.CAMPFIRE, 1);
-                worldManager.addResourceNode(new ResourceNode(placePos.x, placePos.y, ResourceNode.Type.CAMPFIRE));
+                worldManager.addResource(placePos.x, placePos.y, ResourceNode.Type.CAMPFIRE);
                 interactCooldown = 0.5f;
                 System.out.println("Placed Campfire");
             } else {
@@ -392,8 +396,19 @@ public class Player {
         return false;
     }
 
+    // Call after Boat.interpolate so the player is placed on the interpolated deck
+    public void interpolate(float alpha) {
+        float localX = previousLocalPosition.x + (localPosition.x - previousLocalPosition.x) * alpha;
+        float localY = previousLocalPosition.y + (localPosition.y - previousLocalPosition.y) * alpha;
+        renderPosition.set(localX, localY).rotateDeg(boat.getRenderAngle()).add(boat.getRenderPosition());
+    }
+
+    public Vector2 getRenderPosition() {
+        return renderPosition;
+    }
+
     public void render(ShapeRenderer shapeRenderer) {
-        Vector2 worldPos = getWorldPosition();
+        Vector2 worldPos = renderPosition;
         
         if (isSteering) {
             shapeRenderer.setColor(Color.BLUE); // Visual feedback for steering mode
@@ -405,11 +420,8 @@ public class Player {
         // Render swing
         if (swingTimer > 0) {
             shapeRenderer.setColor(Color.WHITE);
-            Vector2 swingStart = worldPos.cpy();
-            Vector2 swingEnd = worldPos.cpy().add(lastMoveDir.cpy().scl(25f));
-            
             // Simple arc or line
-            shapeRenderer.rectLine(swingStart, swingEnd, 3f);
+            shapeRenderer.rectLine(worldPos.x, worldPos.y, worldPos.x + lastMoveDir.x * 25f, worldPos.y + lastMoveDir.y * 25f, 3f);
         }
     }
 
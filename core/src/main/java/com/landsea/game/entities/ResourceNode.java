@@ -1,79 +1,95 @@
 package com.landsea.game.entities;
 
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.math.Vector2;
+import com.landsea.game.environment.TimeManager;
 import com.landsea.game.inventory.ItemType;
 import com.landsea.game.inventory.ItemStack;
+import com.landsea.game.world.ResourceStore;
 
+// Handle onto one node of a chunk's ResourceStore. The node data lives in the store's arrays;
+// a handle is just (store, index) and gets re-pointed with set(), so queries can hand one out
+// without allocating. Don't hold on to a handle you were given past the call that returned it.
 public class ResourceNode {
     public enum Type {
-        TREE, // Generic
-        PALM_TREE,
-        MANGROVE,
-        MAHOGANY,
-        ROCK,
-        BUSH,
-        BERRY_BUSH,
-        CAMPFIRE
+        // Max health, then in-game days until a depleted node grows back (0 = never)
+        TREE(60f, 1f), // Generic; 3 hits with 20 dmg
+        PALM_TREE(60f, 1f),
+        MANGROVE(60f, 1f),
+        MAHOGANY(100f, 2f), // 5 hits, slow growing
+        ROCK(80f, 3f), // 4 hits
+        BUSH(20f, 0.5f), // 1 hit
+        BERRY_BUSH(20f, 0.5f),
+        CAMPFIRE(100f, 0f); // Durable; player-built, so it doesn't come back
+        
+        private final float maxHealth;
+        private final float regrowSeconds;
+        
+        Type(float maxHealth, float regrowDays) {
+            this.maxHealth = maxHealth;
+            this.regrowSeconds = regrowDays * TimeManager.DAY_SECONDS;
+        }
+        
+        public float getMaxHealth() {
+            return maxHealth;
+        }
+        
+        // Game seconds from depletion to regrowth, 0 if it never regrows
+        public float getRegrowSeconds() {
+            return regrowSeconds;
+        }
+        
+        // Bit for type-filtered queries, e.g. Type.CAMPFIRE.mask() | Type.ROCK.mask()
+        public int mask() {
+            return 1 << ordinal();
+        }
+        
+        // Light emitted by nodes of this type (0 = none). Registered with the world's LightRegistry.
+        public float getLightRadius() {
+            switch (this) {
+                case CAMPFIRE: return 100f;
+                default: return 0f;
+            }
+        }
     }
+    
+    public static final int ALL_TYPES = ~0;
+    
+    private static final Color CAMPFIRE_LIGHT = new Color(1f, 0.8f, 0.6f, 0.8f); // Warm light
 
-    private Vector2 position; // World position
-    private Type type;
-    private float health;
-    private float maxHealth;
-    private boolean depleted;
+    private ResourceStore store;
+    private int index;
 
-    public ResourceNode(float x, float y, Type type) {
-        this.position = new Vector2(x, y);
-        this.type = type;
-        this.depleted = false;
-        
-        switch (type) {
-            case TREE: 
-            case PALM_TREE:
-            case MANGROVE:
-                maxHealth = 60f; break; // 3 hits with 20 dmg
-            case MAHOGANY:
-                maxHealth = 100f; break; // 5 hits
-            case ROCK: 
-                maxHealth = 80f; break; // 4 hits
-            case BUSH: 
-            case BERRY_BUSH:
-                maxHealth = 20f; break; // 1 hit
-            case CAMPFIRE:
-                maxHealth = 100f; break; // Durable
-            default:
-                maxHealth = 20f;
-        }
-        this.health = maxHealth;
+    public ResourceNode set(ResourceStore store, int index) {
+        this.store = store;
+        this.index = index;
+        return this;
     }
 
     public ItemStack takeDamage(float damage) {
-        if (depleted) return null;
+        if (store.isDepleted(index)) return null;
+        
+        Type type = getType();
+        float health = store.getHealth(index) - damage;
+        store.setHealth(index, health);
         
         if (type == Type.CAMPFIRE) {
             // Campfires can be destroyed to get resources back?
             // Or maybe they just break.
-            health -= damage;
             if (health <= 0) {
-                depleted = true;
                 return new ItemStack(ItemType.STONE, 2); // Return some stone
             }
             return null;
         }
         
-        health -= damage;
         // Visual shake or particle effect could be triggered here
         
         if (health <= 0) {
-            depleted = true;
-            return getDrops();
+            return getDrops(type);
         }
         return null;
     }
     
-    private ItemStack getDrops() {
+    private static ItemStack getDrops(Type type) {
         switch (type) {
             case TREE: return new ItemStack(ItemType.WOOD, 3);
             case PALM_TREE: return new ItemStack(Math.random() > 0.5 ? ItemType.WOOD : ItemType.COCONUT, 3);
@@ -92,9 +108,9 @@ public class ResourceNode {
     }
     
     public void interact(Player player) {
-        if (depleted) return;
+        if (store.isDepleted(index)) return;
         
-        if (type == Type.CAMPFIRE) {
+        if (getType() == Type.CAMPFIRE) {
             // Rest / Heal
             player.heal(10f);
             player.restoreStamina(50f);
@@ -102,71 +118,48 @@ public class ResourceNode {
         }
     }
 
-    public void render(ShapeRenderer shapeRenderer) {
-        if (depleted) return;
-        
-        // Flash white if damaged recently? (Not implemented yet)
-        
-        switch (type) {
-            case TREE:
-                shapeRenderer.setColor(new Color(0.4f, 0.2f, 0.0f, 1f)); // Brown trunk
-                shapeRenderer.rect(position.x - 5, position.y, 10, 20);
-                shapeRenderer.setColor(new Color(0.1f, 0.6f, 0.1f, 1f)); // Green leaves
-                shapeRenderer.circle(position.x, position.y + 20, 15);
-                break;
-            case PALM_TREE:
-                shapeRenderer.setColor(new Color(0.6f, 0.5f, 0.3f, 1f)); // Tan trunk
-                shapeRenderer.rect(position.x - 3, position.y, 6, 25);
-                shapeRenderer.setColor(new Color(0.2f, 0.8f, 0.2f, 1f)); // Bright Green leaves
-                shapeRenderer.circle(position.x, position.y + 25, 12);
-                break;
-            case MANGROVE:
-                shapeRenderer.setColor(new Color(0.3f, 0.2f, 0.1f, 1f)); // Dark trunk
-                shapeRenderer.rect(position.x - 6, position.y, 12, 15);
-                shapeRenderer.setColor(new Color(0.2f, 0.5f, 0.2f, 1f)); // Dark Green leaves
-                shapeRenderer.circle(position.x, position.y + 15, 18);
-                break;
-            case MAHOGANY:
-                shapeRenderer.setColor(new Color(0.3f, 0.1f, 0.0f, 1f)); // Reddish trunk
-                shapeRenderer.rect(position.x - 8, position.y, 16, 30);
-                shapeRenderer.setColor(new Color(0.0f, 0.4f, 0.0f, 1f)); // Deep Green leaves
-                shapeRenderer.circle(position.x, position.y + 30, 20);
-                break;
-            case ROCK:
-                shapeRenderer.setColor(Color.GRAY);
-                shapeRenderer.circle(position.x, position.y, 12);
-                break;
-            case BUSH:
-                shapeRenderer.setColor(new Color(0.2f, 0.8f, 0.2f, 1f));
-                shapeRenderer.circle(position.x, position.y, 8);
-                break;
-            case BERRY_BUSH:
-                shapeRenderer.setColor(new Color(0.2f, 0.8f, 0.2f, 1f));
-                shapeRenderer.circle(position.x, position.y, 8);
-                shapeRenderer.setColor(Color.RED);
-                shapeRenderer.circle(position.x + 2, position.y + 2, 3);
-                shapeRenderer.circle(position.x - 2, position.y - 1, 3);
-                break;
-            case CAMPFIRE:
-                shapeRenderer.setColor(Color.GRAY); // Stones
-                shapeRenderer.circle(position.x, position.y, 10);
-                shapeRenderer.setColor(Color.ORANGE); // Fire
-                shapeRenderer.circle(position.x, position.y, 6);
-                shapeRenderer.setColor(Color.YELLOW); // Core
-                shapeRenderer.circle(position.x, position.y, 3);
-                break;
-        }
+    public float getLightRadius() {
+        return getType().getLightRadius();
+    }
+    
+    public Color getLightColor() {
+        return CAMPFIRE_LIGHT;
+    }
+    
+    public boolean isLightSource() {
+        return getLightRadius() > 0;
     }
 
-    public Vector2 getPosition() {
-        return position;
+    public float getX() {
+        return store.getX(index);
+    }
+    
+    public float getY() {
+        return store.getY(index);
     }
     
     public Type getType() {
-        return type;
+        return store.getType(index);
     }
 
     public boolean isDepleted() {
-        return depleted;
+        return store.isDepleted(index);
+    }
+    
+    public float getHealth() {
+        return store.getHealth(index);
+    }
+    
+    // True once the player has damaged or destroyed this node
+    public boolean isModified() {
+        return store.isModified(index);
+    }
+    
+    public ResourceStore getStore() {
+        return store;
+    }
+    
+    public int getIndex() {
+        return index;
     }
 }
@@ -3,25 +3,37 @@ package com.landsea.game.environment;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.FrameBuffer;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.utils.Disposable;
-import com.landsea.game.entities.ResourceNode;
+import com.landsea.game.world.LightRegistry;
 import com.landsea.game.world.WorldManager;
-import java.util.List;
 
+// Night lighting: lights are drawn additively into a lightmap cleared to the ambient level, which
+// is then multiplied over the screen. Light is soft, so the lightmap can be a fraction of the
+// window's resolution (half by default) and stretched back up with bilinear filtering, which cuts
+// the pass's fill rate to a quarter or less on big displays.
 public class LightingSystem implements Disposable {
+    public static final float DEFAULT_LIGHTMAP_SCALE = 0.5f;
+    private static final float FLICKER = 10f; // Pixels a flame's light grows by at its peak
+    
     private FrameBuffer fbo;
     private SpriteBatch batch;
     private TextureRegion fboRegion;
     private Texture lightTexture; // A soft circle texture
+    private final LightRegistry.LightVisitor lightDrawer = this::renderLight;
+    private float lightmapScale = DEFAULT_LIGHTMAP_SCALE;
+    private int width, height; // Window size the lightmap is scaled from
+    private float flickerTime; // Game time of the frame being drawn
     
     public LightingSystem() {
         batch = new SpriteBatch();
@@ -29,6 +41,17 @@ public class LightingSystem implements Disposable {
         createLightTexture();
     }
     
+    // Lightmap resolution as a fraction of the window, e.g. 0.5 or 0.25; 1 is full resolution
+    public void setLightmapScale(float scale) {
+        if (scale <= 0 || scale > 1) throw new IllegalArgumentException("Lightmap scale must be in (0, 1]: " + scale);
+        lightmapScale = scale;
+        resize(width, height);
+    }
+    
+    public float getLightmapScale() {
+        return lightmapScale;
+    }
+    
     private void createLightTexture() {
         int size = 128;
         Pixmap pixmap = new Pixmap(size, size, Pixmap.Format.RGBA8888);
@@ -54,8 +77,14 @@ public class LightingSystem implements Disposable {
     }
     
     public void resize(int width, int height) {
+        this.width = width;
+        this.height = height;
         if (fbo != null) fbo.dispose();
-        fbo = new FrameBuffer(Pixmap.Format.RGBA8888, width, height, false);
+        int mapWidth = Math.max(1, Math.round(width * lightmapScale));
+        int mapHeight = Math.max(1, Math.round(height * lightmapScale));
+        fbo = new FrameBuffer(Pixmap.Format.RGBA8888, mapWidth, mapHeight, false);
+        // Bilinear, so the upscale on composite stays smooth
+        fbo.getColorBufferTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
         fboRegion = new TextureRegion(fbo.getColorBufferTexture());
         fboRegion.flip(false, true); // FBOs are flipped
     }
@@ -63,8 +92,9 @@ public class LightingSystem implements Disposable {
     public void render(TimeManager timeManager, Camera camera, WorldManager worldManager) {
         float ambient = timeManager.getAmbientLight();
         if (ambient >= 0.99f) return; // Don't render if it's bright day
+        flickerTime = (float) (timeManager.getElapsed() % 3600.0); // Wrapped so the sine inputs stay precise
         
-        fbo.begin();
+        fbo.begin(); // Also sets the viewport to the lightmap's size
         
         // Clear to ambient light level
         // Night: 0.2, 0.2, 0.3
@@ -79,38 +109,39 @@ public class LightingSystem implements Disposable {
         // We want to ADD light to the ambient level.
         batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE);
         
-        List<ResourceNode> nodes = worldManager.getVisibleResourceNodes(
-            new Vector2(camera.position.x, camera.position.y), 
-            camera.viewportWidth, 
-            camera.viewportHeight
+        // Only registered emitters whose light (at full flicker) reaches the view are visited
+        float zoom = camera instanceof OrthographicCamera ? ((OrthographicCamera) camera).zoom : 1f;
+        float halfW = camera.viewportWidth * zoom / 2 + FLICKER / 2;
+        float halfH = camera.viewportHeight * zoom / 2 + FLICKER / 2;
+        worldManager.getLights().query(
+            camera.position.x - halfW, camera.position.y - halfH,
+            camera.position.x + halfW, camera.position.y + halfH,
+            lightDrawer
         );
         
-        renderLights(batch, nodes);
-        
         batch.end();
         fbo.end();
         
-        // Draw FBO over screen (Multiply)
+        // Draw FBO over screen (Multiply), stretched back to full size
         batch.getProjectionMatrix().setToOrtho2D(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
         batch.begin();
         batch.setBlendFunction(GL20.GL_DST_COLOR, GL20.GL_ZERO); // Multiply
-        batch.draw(fboRegion, 0, 0);
+        batch.draw(fboRegion, 0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
         batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA); // Reset
         batch.end();
     }
     
-    public void renderLights(SpriteBatch batch, List<ResourceNode> nodes) {
-        for (ResourceNode node : nodes) {
-            if (node.getType() == ResourceNode.Type.CAMPFIRE && !node.isDepleted()) {
-                // Draw light
-                float size = 200f;
-                // Flicker
-                size += (float)Math.random() * 10f;
-                
-                batch.setColor(1f, 0.8f, 0.6f, 0.8f); // Warm light
-                batch.draw(lightTexture, node.getPosition().x - size/2, node.getPosition().y - size/2, size, size);
-            }
-        }
+    private void renderLight(float x, float y, float radius, Color color) {
+        // Draw light
+        float size = radius * 2;
+        // Flicker: two out-of-step sines, phase-shifted by position so fires don't pulse together.
+        // Driven by game time, so it freezes when the game is paused and replays identically.
+        float phase = x * 0.013f + y * 0.017f;
+        float wave = 0.6f * MathUtils.sin(flickerTime * 11f + phase) + 0.4f * MathUtils.sin(flickerTime * 23f + phase * 1.7f);
+        size += FLICKER * (0.5f + 0.5f * wave);
+        
+        batch.setColor(color);
+        batch.draw(lightTexture, x - size/2, y - size/2, size, size);
     }
 
     @Override
@@ -1,122 +1,201 @@
 package com.landsea.game.environment;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
 import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.landsea.game.graphics.ColorShader;
+import com.landsea.game.graphics.RainShader;
 
-public class OceanRenderer {
-    private Array<Whitecap> whitecaps;
-    private float spawnTimer;
-    private float stateTime;
+// Whitecaps are a fixed-capacity particle buffer kept as parallel arrays: live particles are
+// packed at the front, an expired one is overwritten by the last live one, and the slots past
+// the end are the free list new ones are written into. Nothing is allocated once it's running.
+// How many spawn follows the wind speed, so a storm whips up far more than a calm. All of them
+// go into one dynamic mesh and are drawn in a single call.
+public class OceanRenderer implements Disposable {
+    private static final int MAX_WHITECAPS = 4096;
+    private static final float CALM_WIND = 40f; // WindManager's base speed
+    private static final float CALM_RATE = 10f; // Whitecaps per second at CALM_WIND
+    private static final float RATE_EXPONENT = 4f; // How sharply the rate climbs with wind speed
+    private static final float FADE_TIME = 0.5f;
+    private static final float WIDTH = 10f, HEIGHT = 2f;
+    private static final int FLOATS_PER_VERTEX = 3; // x, y, packed colour
+
+    private final float[] x = new float[MAX_WHITECAPS];
+    private final float[] y = new float[MAX_WHITECAPS];
+    private final float[] life = new float[MAX_WHITECAPS];
+    private final float[] maxLife = new float[MAX_WHITECAPS];
+    private int count;
+    private float spawnBudget; // Fractional whitecaps owed from previous frames
     
-    private class Whitecap {
-        Vector2 position;
-        float life;
-        float maxLife;
-        
-        public Whitecap(float x, float y) {
-            this.position = new Vector2(x, y);
-            this.maxLife = MathUtils.random(1.0f, 3.0f);
-            this.life = maxLife;
-        }
-    }
+    private static final int RAIN_DROPS = 500; // Drops on screen in plain rain; storms double it
+    private static final int MAX_DROPS = 1000;
+    private static final float FALL_SPEED = 800f;
+    private static final float RAIN_DRIFT = 2f; // Sideways rain speed per unit of wind speed
+    private static final float STREAK_SECONDS = 0.05f; // Streak length, as distance covered in this time
     
-    public OceanRenderer() {
-        whitecaps = new Array<>();
-    }
+    private double rainScrollX, rainScrollY; // How far the rain has travelled; wrapped to the view when drawn
     
-    public void update(float delta, OrthographicCamera camera) {
-        stateTime += delta;
-        // Spawn new whitecaps around the camera
-        spawnTimer += delta;
-        if (spawnTimer > 0.1f) { // Spawn rate
-            spawnTimer = 0;
-            // Spawn in a larger area than the camera to avoid popping
-            float rangeX = camera.viewportWidth * 1.5f;
-            float rangeY = camera.viewportHeight * 1.5f;
-            
-            float x = camera.position.x + MathUtils.random(-rangeX/2, rangeX/2);
-            float y = camera.position.y + MathUtils.random(-rangeY/2, rangeY/2);
-            
-            whitecaps.add(new Whitecap(x, y));
-        }
+    // Created on first render (needs a GL context)
+    private Mesh mesh;
+    private ShaderProgram shader;
+    private float[] vertices;
+    private Mesh rainMesh;
+    private ShaderProgram rainShader;
+    
+    public void update(float delta, OrthographicCamera camera, WindManager windManager) {
+        Vector2 windVector = windManager.getWindVector();
+        rainScrollX += windVector.x * RAIN_DRIFT * delta;
+        rainScrollY += (windVector.y * RAIN_DRIFT - FALL_SPEED) * delta;
         
-        // Update existing
-        for (int i = whitecaps.size - 1; i >= 0; i--) {
-            Whitecap w = whitecaps.get(i);
-            w.life -= delta;
-            if (w.life <= 0) {
-                whitecaps.removeIndex(i);
+        // Age and swap-remove the expired
+        for (int i = count - 1; i >= 0; i--) {
+            life[i] -= delta;
+            if (life[i] <= 0) {
+                int last = --count;
+                x[i] = x[last];
+                y[i] = y[last];
+                life[i] = life[last];
+                maxLife[i] = maxLife[last];
             }
         }
+        
+        // Spawn new whitecaps around the camera, more the harder it blows
+        float wind = windManager.getWindVector().len() / CALM_WIND;
+        spawnBudget += CALM_RATE * (float) Math.pow(wind, RATE_EXPONENT) * delta;
+        // Spawn in a larger area than the camera to avoid popping
+        float rangeX = camera.viewportWidth * camera.zoom * 1.5f;
+        float rangeY = camera.viewportHeight * camera.zoom * 1.5f;
+        while (spawnBudget >= 1f) {
+            spawnBudget -= 1f;
+            if (count == MAX_WHITECAPS) continue; // Full; the budget still drains
+            x[count] = camera.position.x + MathUtils.random(-rangeX / 2, rangeX / 2);
+            y[count] = camera.position.y + MathUtils.random(-rangeY / 2, rangeY / 2);
+            maxLife[count] = MathUtils.random(1.0f, 3.0f);
+            life[count] = maxLife[count];
+            count++;
+        }
     }
     
     public void render(ShapeRenderer shapeRenderer, OrthographicCamera camera, Vector2 windVector) {
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-        // Draw Whitecaps
-        shapeRenderer.setColor(1f, 1f, 1f, 0.6f);
-        
-        for (Whitecap w : whitecaps) {
-            // Only draw if visible
-            if (camera.frustum.pointInFrustum(w.position.x, w.position.y, 0)) {
-                // Fade in/out
-                float alpha = 1.0f;
-                if (w.life < 0.5f) alpha = w.life / 0.5f;
-                if (w.life > w.maxLife - 0.5f) alpha = (w.maxLife - w.life) / 0.5f;
-                
-                shapeRenderer.setColor(1f, 1f, 1f, alpha * 0.5f);
-                
-                // Draw a small curve or line
-                shapeRenderer.rect(w.position.x, w.position.y, 10, 2);
+        if (mesh == null) {
+            mesh = new Mesh(false, MAX_WHITECAPS * 4, MAX_WHITECAPS * 6,
+                new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+                new VertexAttribute(VertexAttributes.Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE));
+            short[] indices = new short[MAX_WHITECAPS * 6];
+            for (int q = 0, i = 0; q < MAX_WHITECAPS; q++) {
+                short base = (short) (q * 4);
+                indices[i++] = base;
+                indices[i++] = (short) (base + 1);
+                indices[i++] = (short) (base + 2);
+                indices[i++] = (short) (base + 2);
+                indices[i++] = (short) (base + 3);
+                indices[i++] = base;
             }
+            mesh.setIndices(indices);
+            vertices = new float[MAX_WHITECAPS * 4 * FLOATS_PER_VERTEX];
+            shader = ColorShader.create();
+        }
+        
+        // Only the ones in view go in the mesh
+        float halfWidth = camera.viewportWidth * camera.zoom / 2;
+        float halfHeight = camera.viewportHeight * camera.zoom / 2;
+        float minX = camera.position.x - halfWidth - WIDTH, maxX = camera.position.x + halfWidth;
+        float minY = camera.position.y - halfHeight - HEIGHT, maxY = camera.position.y + halfHeight;
+        int v = 0, quads = 0;
+        for (int i = 0; i < count; i++) {
+            float x0 = x[i], y0 = y[i];
+            if (x0 < minX || x0 > maxX || y0 < minY || y0 > maxY) continue;
+            // Fade in/out
+            float alpha = 1.0f;
+            float l = life[i];
+            if (l < FADE_TIME) alpha = l / FADE_TIME;
+            if (l > maxLife[i] - FADE_TIME) alpha = (maxLife[i] - l) / FADE_TIME;
+            float color = Color.toFloatBits(1f, 1f, 1f, alpha * 0.5f);
+            
+            // A short horizontal streak
+            float x1 = x0 + WIDTH, y1 = y0 + HEIGHT;
+            vertices[v++] = x0; vertices[v++] = y0; vertices[v++] = color;
+            vertices[v++] = x1; vertices[v++] = y0; vertices[v++] = color;
+            vertices[v++] = x1; vertices[v++] = y1; vertices[v++] = color;
+            vertices[v++] = x0; vertices[v++] = y1; vertices[v++] = color;
+            quads++;
         }
-        shapeRenderer.end();
+        if (quads == 0) return;
+        
+        mesh.setVertices(vertices, 0, v);
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        shader.bind();
+        shader.setUniformMatrix("u_projTrans", shapeRenderer.getProjectionMatrix());
+        mesh.render(shader, GL20.GL_TRIANGLES, 0, quads * 6);
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+    }
+    
+    public int getWhitecapCount() {
+        return count;
     }
     
-    public void renderRain(ShapeRenderer shapeRenderer, OrthographicCamera camera, WeatherManager weatherManager) {
+    // Rain is a static buffer of drops animated in RainShader: the CPU only works out how far the
+    // sheet has scrolled and sets a few uniforms, then it's one draw call however hard it pours
+    public void renderRain(ShapeRenderer shapeRenderer, OrthographicCamera camera, WeatherManager weatherManager, WindManager windManager) {
         if (weatherManager.getCurrentState() == WeatherManager.WeatherState.CLEAR) return;
         
         float intensity = (weatherManager.getCurrentState() == WeatherManager.WeatherState.STORM) ? 2.0f : 1.0f;
+        int drops = Math.min(MAX_DROPS, (int) (RAIN_DROPS * intensity));
         
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
-        shapeRenderer.setColor(0.7f, 0.7f, 0.8f, 0.5f);
-        
-        // Draw rain streaks
-        int drops = (int)(500 * intensity);
-        float fallSpeed = 800f;
-        float windX = (weatherManager.getCurrentState() == WeatherManager.WeatherState.STORM) ? -200f : -50f;
+        if (rainMesh == null) {
+            buildRainMesh();
+        }
         
-        float viewW = camera.viewportWidth;
-        float viewH = camera.viewportHeight;
-        float camX = camera.position.x;
-        float camY = camera.position.y;
+        float viewW = camera.viewportWidth * camera.zoom;
+        float viewH = camera.viewportHeight * camera.zoom;
+        Vector2 wind = windManager.getWindVector();
+        float driftX = wind.x * RAIN_DRIFT;
+        float driftY = wind.y * RAIN_DRIFT - FALL_SPEED;
         
-        for (int i = 0; i < drops; i++) {
-            // Pseudo-random based on index and time
-            float r1 = (float)Math.sin(i * 12.9898 + stateTime * 0.1f);
-            float r2 = (float)Math.cos(i * 78.233 + stateTime * 0.1f);
-            
-            // Normalize to 0-1
-            r1 = (r1 + 1) / 2;
-            r2 = (r2 + 1) / 2;
-            
-            // Position relative to camera, wrapping
-            float x = (r1 * viewW + stateTime * windX) % viewW;
-            float y = (r2 * viewH - stateTime * fallSpeed) % viewH;
-            
-            // Adjust to camera space
-            if (x < 0) x += viewW;
-            if (y < 0) y += viewH;
-            
-            x += camX - viewW/2;
-            y += camY - viewH/2;
-            
-            shapeRenderer.line(x, y, x + windX * 0.05f, y - fallSpeed * 0.05f);
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        rainShader.bind();
+        rainShader.setUniformMatrix("u_projTrans", shapeRenderer.getProjectionMatrix());
+        rainShader.setUniformf("u_view", camera.position.x - viewW / 2, camera.position.y - viewH / 2, viewW, viewH);
+        rainShader.setUniformf("u_offset", (float) (rainScrollX % viewW), (float) (rainScrollY % viewH));
+        rainShader.setUniformf("u_streak", driftX * STREAK_SECONDS, driftY * STREAK_SECONDS);
+        rainShader.setUniformf("u_color", 0.7f, 0.7f, 0.8f, 0.5f);
+        rainMesh.render(rainShader, GL20.GL_LINES, 0, drops * 2);
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+    }
+    
+    // Two vertices per drop, sharing a random seed; only the end flag differs
+    private void buildRainMesh() {
+        float[] rainVertices = new float[MAX_DROPS * 2 * 3];
+        int v = 0;
+        for (int i = 0; i < MAX_DROPS; i++) {
+            float seedX = MathUtils.random();
+            float seedY = MathUtils.random();
+            rainVertices[v++] = seedX; rainVertices[v++] = seedY; rainVertices[v++] = 0f;
+            rainVertices[v++] = seedX; rainVertices[v++] = seedY; rainVertices[v++] = 1f;
         }
-        
-        shapeRenderer.end();
+        rainMesh = new Mesh(true, MAX_DROPS * 2, 0,
+            new VertexAttribute(VertexAttributes.Usage.Generic, 2, RainShader.SEED_ATTRIBUTE),
+            new VertexAttribute(VertexAttributes.Usage.Generic, 1, RainShader.END_ATTRIBUTE));
+        rainMesh.setVertices(rainVertices);
+        rainShader = RainShader.create();
+    }
+    
+    @Override
+    public void dispose() {
+        if (mesh != null) mesh.dispose();
+        if (shader != null) shader.dispose();
+        if (rainMesh != null) rainMesh.dispose();
+        if (rainShader != null) rainShader.dispose();
     }
 }
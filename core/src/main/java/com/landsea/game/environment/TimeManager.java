@@ -10,7 +10,10 @@ public class TimeManager {
     // Let's make 1 day = 10 minutes (600 seconds).
     // 24 hours / 600 seconds = 0.04 hours per second.
     
+    public static final float DAY_SECONDS = 600f;
+    
     private int dayCount;
+    private double elapsed; // Game seconds since the world began, for anything scheduled in game time
     
     public TimeManager() {
         this.timeOfDay = 8.0f; // Start at 8 AM
@@ -20,8 +23,9 @@ public class TimeManager {
     public void update(float delta) {
         // 24 hours in 600 seconds (10 mins)
         // speed = 24 / 600 = 0.04
-        float speed = 0.04f; 
+        float speed = 24f / DAY_SECONDS; 
         
+        elapsed += delta;
         timeOfDay += speed * delta;
         if (timeOfDay >= 24.0f) {
             timeOfDay -= 24.0f;
@@ -29,10 +33,22 @@ public class TimeManager {
         }
     }
     
+    // Picks up a saved game clock: the time of day and day count follow from it
+    public void restore(double elapsed) {
+        this.elapsed = elapsed;
+        double hours = 8.0 + elapsed * 24.0 / DAY_SECONDS; // Day 1 starts at 8 AM
+        this.dayCount = 1 + (int) (hours / 24.0);
+        this.timeOfDay = (float) (hours % 24.0);
+    }
+    
     public float getTime() {
         return timeOfDay;
     }
     
+    public double getElapsed() {
+        return elapsed;
+    }
+    
     public int getDay() {
         return dayCount;
     }
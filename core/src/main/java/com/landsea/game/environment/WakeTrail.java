@@ -0,0 +1,202 @@
+package com.landsea.game.environment;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Disposable;
+import com.landsea.game.entities.Boat;
+import com.landsea.game.graphics.ColorShader;
+import com.landsea.game.simulation.Fleet;
+
+// Foam left behind every moving boat in the fleet. Samples (position, time dropped, boat speed)
+// go into a ring buffer of parallel arrays: new ones are written at the tail and, since every
+// sample lives for the same time, the oldest are always at the head, so expiring is just moving
+// the head along. The ring grows to hold a full lifetime of samples for every moving boat, so a
+// bigger fleet never cuts the trails short; it only ever grows when more boats get under way.
+//
+// Drawn as small hexagons in one dynamic mesh, one draw call per MESH_SAMPLES samples in view.
+// A sample spreads and fades as it ages, and faster boats leave a brighter, wider wake.
+public class WakeTrail implements Disposable {
+    private static final int INITIAL_CAPACITY = 4096;
+    private static final int MESH_SAMPLES = 4096; // Per draw call; 7 vertices each keeps indices within a short
+    private static final int MAX_EMITTERS = 3; // See Boat.getWakeEmitters
+    private static final float INTERVAL = 0.1f; // Seconds between samples
+    private static final float LIFETIME = 5f;
+    private static final int SAMPLES_PER_EMITTER = (int) Math.ceil(LIFETIME / INTERVAL) + 1;
+    private static final float MIN_SPEED = 10f; // Boats slower than this leave no wake
+    private static final float FULL_SPEED = 60f; // Speed at which the wake is at its brightest
+    private static final float RADIUS = 5f;
+    private static final int SIDES = 6;
+    private static final int FLOATS_PER_VERTEX = 3; // x, y, packed colour
+
+    private float[] x = new float[INITIAL_CAPACITY];
+    private float[] y = new float[INITIAL_CAPACITY];
+    private float[] born = new float[INITIAL_CAPACITY];
+    private float[] speed = new float[INITIAL_CAPACITY];
+    private int capacity = INITIAL_CAPACITY;
+    private int head; // Oldest sample
+    private int size;
+    private float time;
+    private float timer;
+    private final float[] emitters = new float[6];
+
+    // Hexagon corner offsets, unit radius
+    private static final float[] CORNER_X = new float[SIDES];
+    private static final float[] CORNER_Y = new float[SIDES];
+
+    static {
+        for (int i = 0; i < SIDES; i++) {
+            CORNER_X[i] = MathUtils.cos(i * MathUtils.PI2 / SIDES);
+            CORNER_Y[i] = MathUtils.sin(i * MathUtils.PI2 / SIDES);
+        }
+    }
+
+    // Created on first render (needs a GL context)
+    private Mesh mesh;
+    private ShaderProgram shader;
+    private float[] vertices;
+
+    // Once per simulation step: drop the expired and, every INTERVAL, sample each moving boat
+    public void update(float delta, Fleet fleet) {
+        time += delta;
+        while (size > 0 && time - born[head] > LIFETIME) {
+            head = (head + 1) % capacity;
+            size--;
+        }
+
+        timer += delta;
+        if (timer < INTERVAL) return;
+        timer = 0;
+        int moving = 0;
+        for (int v = 0; v < fleet.size(); v++) {
+            if (fleet.get(v).getBoat().getVelocity().len() > MIN_SPEED) moving++;
+        }
+        ensureCapacity(moving * MAX_EMITTERS * SAMPLES_PER_EMITTER);
+        for (int v = 0; v < fleet.size(); v++) {
+            Boat boat = fleet.get(v).getBoat();
+            float boatSpeed = boat.getVelocity().len();
+            if (boatSpeed <= MIN_SPEED) continue;
+            int points = boat.getWakeEmitters(emitters);
+            for (int p = 0; p < points; p++) {
+                add(emitters[p * 2], emitters[p * 2 + 1], boatSpeed);
+            }
+        }
+    }
+
+    // Unrolls the ring into bigger arrays, oldest first
+    private void ensureCapacity(int needed) {
+        if (needed <= capacity) return;
+        int grown = Math.max(needed, capacity * 2);
+        x = unroll(x, grown);
+        y = unroll(y, grown);
+        born = unroll(born, grown);
+        speed = unroll(speed, grown);
+        head = 0;
+        capacity = grown;
+    }
+
+    private float[] unroll(float[] values, int grown) {
+        float[] out = new float[grown];
+        int first = Math.min(size, capacity - head);
+        System.arraycopy(values, head, out, 0, first);
+        System.arraycopy(values, 0, out, first, size - first);
+        return out;
+    }
+
+    private void add(float px, float py, float boatSpeed) {
+        if (size == capacity) {
+            head = (head + 1) % capacity; // Only if a boat emitted more than its share
+            size--;
+        }
+        int i = (head + size) % capacity;
+        x[i] = px;
+        y[i] = py;
+        born[i] = time;
+        speed[i] = boatSpeed;
+        size++;
+    }
+
+    public void render(ShapeRenderer shapeRenderer, float viewX, float viewY, float viewWidth, float viewHeight) {
+        if (size == 0) return;
+        if (mesh == null) {
+            // Centre plus corners per sample, fanned into SIDES triangles
+            int verticesPer = SIDES + 1;
+            mesh = new Mesh(false, MESH_SAMPLES * verticesPer, MESH_SAMPLES * SIDES * 3,
+                new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+                new VertexAttribute(VertexAttributes.Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE));
+            short[] indices = new short[MESH_SAMPLES * SIDES * 3];
+            for (int s = 0, i = 0; s < MESH_SAMPLES; s++) {
+                int base = s * verticesPer;
+                for (int k = 0; k < SIDES; k++) {
+                    indices[i++] = (short) base;
+                    indices[i++] = (short) (base + 1 + k);
+                    indices[i++] = (short) (base + 1 + (k + 1) % SIDES);
+                }
+            }
+            mesh.setIndices(indices);
+            vertices = new float[MESH_SAMPLES * verticesPer * FLOATS_PER_VERTEX];
+            shader = ColorShader.create();
+        }
+
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        shader.bind();
+        shader.setUniformMatrix("u_projTrans", shapeRenderer.getProjectionMatrix());
+        
+        int v = 0, drawn = 0;
+        float maxRadius = RADIUS * 2;
+        for (int n = 0; n < size; n++) {
+            int i = (head + n) % capacity;
+            float px = x[i], py = y[i];
+            if (px + maxRadius < viewX || px - maxRadius > viewX + viewWidth
+                || py + maxRadius < viewY || py - maxRadius > viewY + viewHeight) {
+                continue;
+            }
+            float age = (time - born[i]) / LIFETIME;
+            float strength = Math.min(1f, speed[i] / FULL_SPEED);
+            float radius = RADIUS * (0.6f + 0.4f * strength) * (1f + age);
+            float alpha = 0.5f * (1f - age) * (0.5f + 0.5f * strength);
+            float color = Color.toFloatBits(1f, 1f, 1f, Math.max(0f, alpha));
+
+            vertices[v++] = px; vertices[v++] = py; vertices[v++] = color;
+            for (int k = 0; k < SIDES; k++) {
+                vertices[v++] = px + CORNER_X[k] * radius;
+                vertices[v++] = py + CORNER_Y[k] * radius;
+                vertices[v++] = color;
+            }
+            drawn++;
+            if (drawn == MESH_SAMPLES) {
+                drawSamples(v, drawn);
+                v = 0;
+                drawn = 0;
+            }
+        }
+        if (drawn > 0) drawSamples(v, drawn);
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+    }
+
+    private void drawSamples(int floats, int samples) {
+        mesh.setVertices(vertices, 0, floats);
+        mesh.render(shader, GL20.GL_TRIANGLES, 0, samples * SIDES * 3);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void dispose() {
+        if (mesh != null) mesh.dispose();
+        if (shader != null) shader.dispose();
+    }
+}
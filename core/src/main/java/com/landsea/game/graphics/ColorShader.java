@@ -0,0 +1,39 @@
+package com.landsea.game.graphics;
+
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+// Minimal shader for untextured geometry with a 2D position and a packed vertex colour,
+// i.e. the same output ShapeRenderer produces, for meshes we build and cache ourselves.
+public class ColorShader {
+    public static final String VERTEX =
+        "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n" +
+        "attribute vec4 " + ShaderProgram.COLOR_ATTRIBUTE + ";\n" +
+        "uniform mat4 u_projTrans;\n" +
+        "varying vec4 v_color;\n" +
+        "void main() {\n" +
+        "    v_color = " + ShaderProgram.COLOR_ATTRIBUTE + ";\n" +
+        "    gl_Position = u_projTrans * " + ShaderProgram.POSITION_ATTRIBUTE + ";\n" +
+        "}\n";
+
+    public static final String FRAGMENT =
+        "#ifdef GL_ES\n" +
+        "precision mediump float;\n" +
+        "#endif\n" +
+        "varying vec4 v_color;\n" +
+        "void main() {\n" +
+        "    gl_FragColor = v_color;\n" +
+        "}\n";
+
+    public static ShaderProgram create() {
+        return compile(VERTEX, FRAGMENT);
+    }
+
+    public static ShaderProgram compile(String vertex, String fragment) {
+        ShaderProgram shader = new ShaderProgram(vertex, fragment);
+        if (!shader.isCompiled()) {
+            throw new GdxRuntimeException("Couldn't compile shader: " + shader.getLog());
+        }
+        return shader;
+    }
+}
@@ -0,0 +1,39 @@
+package com.landsea.game.graphics;
+
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+
+// Rain streaks placed entirely on the GPU. Each drop is a line whose two vertices carry the same
+// random seed in [0, 1)^2 and an end flag (0 = head, 1 = tail). The shader lays the seeds over the
+// view, scrolls them by u_offset (how far the rain has fallen and drifted, already wrapped to the
+// view size on the CPU so the float maths stays small), wraps them back into the view and
+// stretches the tail along u_streak.
+public class RainShader {
+    public static final String SEED_ATTRIBUTE = "a_seed";
+    public static final String END_ATTRIBUTE = "a_end";
+
+    public static final String VERTEX =
+        "attribute vec2 " + SEED_ATTRIBUTE + ";\n" +
+        "attribute float " + END_ATTRIBUTE + ";\n" +
+        "uniform mat4 u_projTrans;\n" +
+        "uniform vec4 u_view;\n" + // x, y of the bottom-left corner, then width, height
+        "uniform vec2 u_offset;\n" +
+        "uniform vec2 u_streak;\n" +
+        "void main() {\n" +
+        "    vec2 p = mod(" + SEED_ATTRIBUTE + " * u_view.zw + u_offset, u_view.zw);\n" +
+        "    p += u_view.xy + " + END_ATTRIBUTE + " * u_streak;\n" +
+        "    gl_Position = u_projTrans * vec4(p, 0.0, 1.0);\n" +
+        "}\n";
+
+    public static final String FRAGMENT =
+        "#ifdef GL_ES\n" +
+        "precision mediump float;\n" +
+        "#endif\n" +
+        "uniform vec4 u_color;\n" +
+        "void main() {\n" +
+        "    gl_FragColor = u_color;\n" +
+        "}\n";
+
+    public static ShaderProgram create() {
+        return ColorShader.compile(VERTEX, FRAGMENT);
+    }
+}
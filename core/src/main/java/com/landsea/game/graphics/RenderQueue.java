@@ -0,0 +1,183 @@
+package com.landsea.game.graphics;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Array;
+import java.util.Arrays;
+
+// Collects a frame's draw commands and plays them back through one ShapeRenderer with as few
+// begin/end pairs and flushes as the draw order allows.
+//
+// A command is (layer, shape type, transform, drawable). Layers draw strictly in order. Within a
+// layer, commands are grouped by shape type and then by transform, so everything that can share
+// a batch does; submission order is only kept between commands with the same type and transform.
+// Anything whose order matters against a different shape type belongs in its own layer.
+//
+// A null shape type marks a command that draws with its own GL state (a mesh, a SpriteBatch);
+// the ShapeRenderer batch is closed before it runs and reopened after, only if needed.
+//
+// Transforms are copied into a pool, so callers can reuse one matrix per frame. Nothing is
+// allocated once the pools have grown to a frame's size.
+//
+// With profiling on, a GLProfiler counts the real draw calls made during flush: ShapeRenderer's
+// own flushes when its buffer fills and every mesh an own-GL command draws included.
+public class RenderQueue {
+    public enum Layer {
+        OCEAN,
+        TERRAIN,
+        RESOURCES,
+        WAKE,
+        BOATS,
+        PLAYER,
+        LIGHTING,
+        WEATHER
+    }
+
+    public interface Drawable {
+        // For shape commands the renderer is already begun with the command's type and transform
+        void draw(ShapeRenderer shapeRenderer);
+    }
+
+    private static final ShapeRenderer.ShapeType[] TYPES = ShapeRenderer.ShapeType.values();
+    private static final int INDEX_BITS = 20; // Commands per frame
+    private static final int TRANSFORM_BITS = 20; // Distinct transforms per frame, slot 0 is identity
+    private static final int TYPE_BITS = 2; // Shape type ordinal + 1, 0 for own-GL commands
+
+    private long[] keys = new long[64];
+    private Drawable[] drawables = new Drawable[64];
+    private int count;
+    private final Array<Matrix4> transforms = new Array<>(true, 16, Matrix4.class);
+    private int transformCount = 1;
+    private final Matrix4 identity = new Matrix4();
+
+    // Counters for the last flush
+    private int commandCount;
+    private int batchCount; // begin/end pairs, including splits for a new transform
+    private int customCount; // Own-GL commands
+    private int drawCalls; // GL draw calls, -1 when not profiling
+    private boolean profiling;
+    private GLProfiler profiler; // Created on first profiled flush (needs Gdx.graphics)
+
+    public RenderQueue() {
+        transforms.add(identity);
+    }
+
+    // transform may be null for none; it's copied, so the caller's matrix is free to change after
+    public void submit(Layer layer, ShapeRenderer.ShapeType type, Matrix4 transform, Drawable drawable) {
+        if (count == keys.length) {
+            keys = Arrays.copyOf(keys, count * 2);
+            drawables = Arrays.copyOf(drawables, count * 2);
+        }
+        if (count == 1 << INDEX_BITS) throw new IllegalStateException("Too many draw commands in one frame");
+
+        int slot = 0;
+        if (transform != null) {
+            if (transformCount == 1 << TRANSFORM_BITS) throw new IllegalStateException("Too many transforms in one frame");
+            if (transformCount == transforms.size) transforms.add(new Matrix4());
+            transforms.items[transformCount].set(transform);
+            slot = transformCount++;
+        }
+
+        int typeCode = type == null ? 0 : type.ordinal() + 1;
+        keys[count] = ((long) layer.ordinal() << (TYPE_BITS + TRANSFORM_BITS + INDEX_BITS))
+            | ((long) typeCode << (TRANSFORM_BITS + INDEX_BITS))
+            | ((long) slot << INDEX_BITS)
+            | count;
+        drawables[count] = drawable;
+        count++;
+    }
+
+    // Draws everything submitted since the last flush, with the renderer's current projection
+    public void flush(ShapeRenderer shapeRenderer) {
+        if (shapeRenderer.isDrawing()) throw new IllegalStateException("ShapeRenderer is already begun");
+        commandCount = count;
+        batchCount = 0;
+        customCount = 0;
+        drawCalls = -1;
+        if (profiling) {
+            if (profiler == null) profiler = new GLProfiler(Gdx.graphics);
+            profiler.reset();
+            profiler.enable();
+        }
+
+        Arrays.sort(keys, 0, count);
+        ShapeRenderer.ShapeType current = null;
+        int currentSlot = 0;
+        shapeRenderer.setTransformMatrix(identity);
+
+        for (int k = 0; k < count; k++) {
+            long key = keys[k];
+            int index = (int) (key & ((1 << INDEX_BITS) - 1));
+            int slot = (int) ((key >>> INDEX_BITS) & ((1 << TRANSFORM_BITS) - 1));
+            int typeCode = (int) ((key >>> (TRANSFORM_BITS + INDEX_BITS)) & ((1 << TYPE_BITS) - 1));
+            Drawable drawable = drawables[index];
+            drawables[index] = null;
+
+            if (typeCode == 0) {
+                if (current != null) {
+                    shapeRenderer.end();
+                    current = null;
+                }
+                drawable.draw(shapeRenderer);
+                customCount++;
+                continue;
+            }
+
+            ShapeRenderer.ShapeType type = TYPES[typeCode - 1];
+            if (slot != currentSlot) {
+                // A new transform means new geometry matrices, so the batch has to end here anyway
+                if (current != null) {
+                    shapeRenderer.end();
+                    current = null;
+                }
+                shapeRenderer.setTransformMatrix(transforms.items[slot]);
+                currentSlot = slot;
+            }
+            if (current == null) {
+                shapeRenderer.begin(type);
+                batchCount++;
+            } else if (type != current) {
+                shapeRenderer.end();
+                shapeRenderer.begin(type);
+                batchCount++;
+            }
+            current = type;
+            drawable.draw(shapeRenderer);
+        }
+        if (current != null) shapeRenderer.end();
+        shapeRenderer.setTransformMatrix(identity);
+        if (profiling) {
+            drawCalls = profiler.getDrawCalls();
+            profiler.disable();
+        }
+
+        count = 0;
+        transformCount = 1;
+    }
+
+    public int getCommandCount() {
+        return commandCount;
+    }
+
+    public int getBatchCount() {
+        return batchCount;
+    }
+
+    public int getDrawCalls() {
+        return drawCalls;
+    }
+
+    public int getCustomCount() {
+        return customCount;
+    }
+
+    public void setProfiling(boolean profiling) {
+        this.profiling = profiling;
+    }
+
+    public boolean isProfiling() {
+        return profiling;
+    }
+}
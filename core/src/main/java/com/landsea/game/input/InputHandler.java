@@ -6,7 +6,7 @@ import com.badlogic.gdx.InputAdapter;
 public class InputHandler extends InputAdapter {
     
     private boolean up, down, left, right;
-    private boolean interact, kick, inventory, consume, crafting, attack, place;
+    private boolean interact, kick, inventory, consume, crafting, attack, place, debug;
 
     private int lastNumberPressed = -1;
 
@@ -55,6 +55,9 @@ public class InputHandler extends InputAdapter {
             case Input.Keys.TAB:
                 inventory = true;
                 break;
+            case Input.Keys.F3:
+                debug = true;
+                break;
         }
         return true;
     }
@@ -100,6 +103,9 @@ public class InputHandler extends InputAdapter {
             case Input.Keys.TAB:
                 inventory = false;
                 break;
+            case Input.Keys.F3:
+                debug = false;
+                break;
         }
         return true;
     }
@@ -146,6 +152,10 @@ public class InputHandler extends InputAdapter {
         return inventory;
     }
     
+    public boolean isDebugPressed() {
+        return debug;
+    }
+    
     @Override
     public boolean touchDown(int screenX, int screenY, int pointer, int button) {
         // Handle mouse/touch press
@@ -8,7 +8,6 @@ import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.landsea.game.entities.Boat;
@@ -16,9 +15,14 @@ import com.landsea.game.entities.Player;
 import com.landsea.game.environment.OceanRenderer;
 import com.landsea.game.environment.WindManager;
 import com.landsea.game.environment.TimeManager;
+import com.landsea.game.environment.WakeTrail;
 import com.landsea.game.environment.WeatherManager;
 import com.landsea.game.environment.LightingSystem;
+import com.landsea.game.graphics.RenderQueue;
 import com.landsea.game.input.InputHandler;
+import com.landsea.game.simulation.Fleet;
+import com.landsea.game.simulation.SimulationClock;
+import com.landsea.game.simulation.Vessel;
 import com.landsea.game.world.WorldManager;
 import com.landsea.game.ui.Hud;
 import com.landsea.game.crafting.CraftingManager;
@@ -39,14 +43,23 @@ public class GameScreen implements Screen {
     private WorldManager worldManager;
     private CraftingManager craftingManager;
     private Hud hud;
+    private SimulationClock simulationClock;
+    private Fleet fleet; // Every boat on the sea, the player's included
     private boolean showInventory = false;
     private boolean inventoryKeyPressed = false;
     private boolean showCrafting = false;
     private boolean craftingKeyPressed = false;
+    private boolean showDebug = false;
+    private boolean debugKeyPressed = false;
     
     // Visuals
-    private Array<Vector2> wakeParticles;
-    private float wakeTimer;
+    private WakeTrail wakeTrail;
+    private RenderQueue renderQueue;
+    private final RenderQueue.Drawable oceanDrawer = this::drawOcean;
+    private final RenderQueue.Drawable wakeDrawer = this::drawWake;
+    private final RenderQueue.Drawable playerDrawer = this::drawPlayer;
+    private final RenderQueue.Drawable lightingDrawer = this::drawLighting;
+    private final RenderQueue.Drawable rainDrawer = this::drawRain;
 
     public GameScreen() {
         // Create camera for 2D rendering
@@ -66,9 +79,11 @@ public class GameScreen implements Screen {
         weatherManager = new WeatherManager();
         lightingSystem = new LightingSystem();
         oceanRenderer = new OceanRenderer();
-        worldManager = new WorldManager();
+        worldManager = new WorldManager(Gdx.files.local("saves/world").file());
+        timeManager.restore(worldManager.getClock());
         craftingManager = new CraftingManager();
-        hud = new Hud();
+        hud = new Hud(shapeRenderer);
+        simulationClock = new SimulationClock(); // 60 Hz, at most 5 catch-up steps per frame
         
         // Find safe spawn point (water)
         Vector2 spawnPos = worldManager.findSafeSpawn();
@@ -77,7 +92,13 @@ public class GameScreen implements Screen {
         boat = new Boat(spawnPos.x, spawnPos.y);
         player = new Player(boat);
         
-        wakeParticles = new Array<>();
+        // A few traders and wrecks in the open water around the spawn point
+        fleet = new Fleet();
+        fleet.add(new Vessel(boat, Vessel.Role.PLAYER));
+        fleet.populate(spawnPos.x, spawnPos.y, 300f, 700f, 6, 2);
+        
+        wakeTrail = new WakeTrail();
+        renderQueue = new RenderQueue();
     }
 
     @Override
@@ -91,24 +112,35 @@ public class GameScreen implements Screen {
         Gdx.gl.glClearColor(0.0f, 0.4f, 0.6f, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
-        // Update game logic
+        // Run the simulation in fixed steps, however long the frame took
+        int steps = simulationClock.advance(delta);
+        for (int i = 0; i < steps; i++) {
+            step(simulationClock.getStepSeconds());
+        }
+
+        // Draw between the last two simulation states so motion stays smooth at any frame rate
+        float alpha = simulationClock.getAlpha();
+        fleet.interpolate(alpha);
+        player.interpolate(alpha);
+
+        // Per-frame work (streaming, menus, visuals)
         update(delta);
 
         // Update camera to follow player
-        camera.position.set(player.getWorldPosition(), 0);
+        camera.position.set(player.getRenderPosition(), 0);
         camera.update();
         shapeRenderer.setProjectionMatrix(camera.combined);
 
         // Render
         draw();
     }
-    private void update(float delta) {
+    // One fixed simulation step; delta is always the clock's step length
+    private void step(float delta) {
         windManager.update(delta);
         timeManager.update(delta);
+        worldManager.updateRegrowth(timeManager);
         weatherManager.update(delta, windManager);
-        oceanRenderer.update(delta, camera);
-        worldManager.update(player.getWorldPosition());
-        boat.update(delta, windManager, worldManager);
+        fleet.step(delta, windManager, worldManager);
         player.update(delta, inputHandler.getHorizontal(), inputHandler.getVertical(), worldManager);
         
         if (inputHandler.isInteractPressed()) {
@@ -131,6 +163,14 @@ public class GameScreen implements Screen {
             boat.kickOff(worldManager);
         }
         
+        // Wake behind every moving boat
+        wakeTrail.update(delta, fleet);
+    }
+
+    private void update(float delta) {
+        oceanRenderer.update(delta, camera, windManager);
+        worldManager.update(player.getWorldPosition(), boat.getVelocity());
+        
         if (inputHandler.isInventoryPressed()) {
             if (!inventoryKeyPressed) {
                 showInventory = !showInventory;
@@ -151,6 +191,16 @@ public class GameScreen implements Screen {
             craftingKeyPressed = false;
         }
         
+        if (inputHandler.isDebugPressed()) {
+            if (!debugKeyPressed) {
+                showDebug = !showDebug;
+                renderQueue.setProfiling(showDebug); // Only count draw calls while they're on screen
+                debugKeyPressed = true;
+            }
+        } else {
+            debugKeyPressed = false;
+        }
+        
         if (showCrafting) {
             int num = inputHandler.getAndClearNumberPressed();
             if (num > 0 && num <= craftingManager.getRecipes().size()) {
@@ -162,48 +212,48 @@ public class GameScreen implements Screen {
                 }
             }
         }
-        
-        // Update wake particles
-        if (boat.getVelocity().len() > 10) {
-            wakeTimer += delta;
-            if (wakeTimer > 0.1f) {
-                wakeTimer = 0;
-                wakeParticles.add(boat.getRudderWorldPosition());
-                if (wakeParticles.size > 50) wakeParticles.removeIndex(0);
-            }
-        }
     }
 
     private void draw() {
-        // Draw Ocean (Whitecaps and Wind Lines)
-        oceanRenderer.render(shapeRenderer, camera, windManager.getWindVector());
+        float viewWidth = viewport.getWorldWidth() * camera.zoom;
+        float viewHeight = viewport.getWorldHeight() * camera.zoom;
+        float viewX = camera.position.x - viewWidth / 2;
+        float viewY = camera.position.y - viewHeight / 2;
         
-        // Draw World (Islands)
-        worldManager.render(shapeRenderer, new Vector2(camera.position.x, camera.position.y), viewport.getWorldWidth(), viewport.getWorldHeight());
+        // Everything in the world goes through the queue, which sorts it into as few batches as it can
+        renderQueue.submit(RenderQueue.Layer.OCEAN, null, null, oceanDrawer);
+        worldManager.submit(renderQueue, camera.position.x, camera.position.y, viewport.getWorldWidth(), viewport.getWorldHeight());
+        renderQueue.submit(RenderQueue.Layer.WAKE, null, null, wakeDrawer);
+        fleet.submit(renderQueue, windManager, viewX, viewY, viewWidth, viewHeight);
+        renderQueue.submit(RenderQueue.Layer.PLAYER, ShapeRenderer.ShapeType.Filled, null, playerDrawer);
+        renderQueue.submit(RenderQueue.Layer.LIGHTING, null, null, lightingDrawer);
+        renderQueue.submit(RenderQueue.Layer.WEATHER, null, null, rainDrawer);
+        renderQueue.flush(shapeRenderer);
         
-        // Draw wake
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-        shapeRenderer.setColor(1f, 1f, 1f, 0.5f);
-        for (Vector2 p : wakeParticles) {
-            shapeRenderer.circle(p.x, p.y, 5);
-        }
-        shapeRenderer.end();
-        
-        // Draw boat (now passes wind manager)
-        boat.render(shapeRenderer, windManager);
-        // Draw player
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+        // Draw HUD
+        hud.render(windManager, timeManager, weatherManager, player, camera, showInventory, showCrafting, craftingManager, showDebug, renderQueue);
+    }
+    
+    private void drawOcean(ShapeRenderer shapeRenderer) {
+        oceanRenderer.render(shapeRenderer, camera, windManager.getWindVector());
+    }
+    
+    private void drawWake(ShapeRenderer shapeRenderer) {
+        float viewWidth = viewport.getWorldWidth() * camera.zoom;
+        float viewHeight = viewport.getWorldHeight() * camera.zoom;
+        wakeTrail.render(shapeRenderer, camera.position.x - viewWidth / 2, camera.position.y - viewHeight / 2, viewWidth, viewHeight);
+    }
+    
+    private void drawPlayer(ShapeRenderer shapeRenderer) {
         player.render(shapeRenderer);
-        shapeRenderer.end();
-        
-        // Draw Lighting
+    }
+    
+    private void drawLighting(ShapeRenderer shapeRenderer) {
         lightingSystem.render(timeManager, camera, worldManager);
-        
-        // Draw Weather (Rain)
-        oceanRenderer.renderRain(shapeRenderer, camera, weatherManager);
-        
-        // Draw HUD
-        hud.render(windManager, timeManager, weatherManager, player, camera, showInventory, showCrafting, craftingManager);
+    }
+    
+    private void drawRain(ShapeRenderer shapeRenderer) {
+        oceanRenderer.renderRain(shapeRenderer, camera, weatherManager, windManager);
     }
 
     @Override
@@ -227,7 +277,12 @@ public class GameScreen implements Screen {
     @Override
     public void dispose() {
         shapeRenderer.dispose();
+        fleet.dispose();
         hud.dispose();
         lightingSystem.dispose();
+        oceanRenderer.dispose();
+        wakeTrail.dispose();
+        worldManager.save();
+        worldManager.dispose();
     }
 }
@@ -0,0 +1,211 @@
+package com.landsea.game.simulation;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.landsea.game.entities.Boat;
+import com.landsea.game.environment.WindManager;
+import com.landsea.game.graphics.RenderQueue;
+import com.landsea.game.world.WorldManager;
+import com.landsea.game.world.WorldSnapshot;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Every boat on the sea, stepped together once per simulation step in two phases:
+//
+//   1. Parallel: AI vessels are split across a fork-join pool. Each one steers and integrates its
+//      own boat against the world's read-only snapshot, so no two tasks share mutable state.
+//   2. Serial, in vessel order: player boats step against the live world (where a missing chunk
+//      is queued and counts as land), then boats that bumped into each other are separated (see
+//      VesselContacts), then traders pick new waypoints or push off the shore.
+//
+// Everything that reads a random number or mutates the world happens in phase 2, so a run is
+// deterministic whatever the thread count.
+public class Fleet implements Disposable {
+    private static final long DEFAULT_SEED = 7;
+    private static final int VESSELS_PER_TASK = 16; // Leaf size for the fork-join split
+    private static final float WAYPOINT_RADIUS = 256f;
+    private static final float LEG_MIN = 1024f, LEG_MAX = 3072f; // How far a trader's next waypoint is
+    private static final float LEG_TIMEOUT = 120f; // Seconds before a trader gives up on a waypoint
+    private static final float STUCK_SPEED = 5f;
+    private static final float STUCK_SECONDS = 2f;
+
+    private final Array<Vessel> vessels = new Array<>(true, 16, Vessel.class);
+    private Vessel[] parallel = new Vessel[16]; // AI vessels gathered for phase 1
+    private int parallelCount;
+    private final int parallelism;
+    private ForkJoinPool pool; // Started on the first step with enough AI vessels to split, never if parallelism is 1
+    private final RandomXS128 random;
+    private final VesselContacts contacts = new VesselContacts();
+
+    // Read by the worker tasks; written only before the pool is invoked
+    private float stepDelta;
+    private WindManager stepWind;
+    private WorldSnapshot stepSnapshot;
+
+    public Fleet() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_SEED);
+    }
+
+    public Fleet(int parallelism, long seed) {
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        this.parallelism = parallelism;
+        this.random = new RandomXS128(seed);
+    }
+
+    public void add(Vessel vessel) {
+        vessels.add(vessel);
+    }
+
+    public boolean remove(Vessel vessel) {
+        return vessels.removeValue(vessel, true);
+    }
+
+    public int size() {
+        return vessels.size;
+    }
+
+    public Vessel get(int index) {
+        return vessels.get(index);
+    }
+
+    public VesselContacts getContacts() {
+        return contacts;
+    }
+
+    // Scatters traders and derelicts in a ring around a point. The ring should sit in open water
+    // (the spawn search guarantees ~24 tiles of it around the spawn point).
+    public void populate(float centreX, float centreY, float minRadius, float maxRadius, int traders, int derelicts) {
+        for (int i = 0; i < traders + derelicts; i++) {
+            float angle = random.nextFloat() * MathUtils.PI2;
+            float radius = minRadius + random.nextFloat() * (maxRadius - minRadius);
+            Boat boat = new Boat(centreX + MathUtils.cos(angle) * radius, centreY + MathUtils.sin(angle) * radius);
+            Vessel vessel = new Vessel(boat, i < traders ? Vessel.Role.TRADER : Vessel.Role.DERELICT);
+            if (vessel.getRole() == Vessel.Role.TRADER) pickWaypoint(vessel);
+            vessels.add(vessel);
+        }
+    }
+
+    public void step(float delta, WindManager windManager, WorldManager worldManager) {
+        // Phase 1: AI vessels in parallel against the snapshot
+        parallelCount = 0;
+        for (int i = 0; i < vessels.size; i++) {
+            Vessel vessel = vessels.items[i];
+            if (vessel.getRole() == Vessel.Role.PLAYER) continue;
+            if (parallelCount == parallel.length) {
+                Vessel[] grown = new Vessel[parallel.length * 2];
+                System.arraycopy(parallel, 0, grown, 0, parallelCount);
+                parallel = grown;
+            }
+            parallel[parallelCount++] = vessel;
+        }
+
+        stepDelta = delta;
+        stepWind = windManager;
+        stepSnapshot = worldManager.getSnapshot();
+        if (parallelism > 1 && parallelCount > VESSELS_PER_TASK) {
+            if (pool == null) pool = new ForkJoinPool(parallelism);
+            pool.invoke(new StepTask(0, parallelCount));
+        } else {
+            stepRange(0, parallelCount);
+        }
+
+        // Phase 2: everything order-dependent, on the calling thread
+        for (int i = 0; i < vessels.size; i++) {
+            Vessel vessel = vessels.items[i];
+            if (vessel.getRole() == Vessel.Role.PLAYER) {
+                vessel.step(delta, windManager, worldManager);
+            }
+        }
+        contacts.resolve(vessels);
+        for (int i = 0; i < vessels.size; i++) {
+            Vessel vessel = vessels.items[i];
+            if (vessel.getRole() == Vessel.Role.TRADER) {
+                updateAutopilot(vessel, delta, worldManager);
+            }
+        }
+    }
+
+    private void stepRange(int from, int to) {
+        for (int i = from; i < to; i++) {
+            parallel[i].step(stepDelta, stepWind, stepSnapshot);
+        }
+    }
+
+    private class StepTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from, to;
+
+        StepTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= VESSELS_PER_TASK) {
+                stepRange(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new StepTask(from, mid), new StepTask(mid, to));
+        }
+    }
+
+    private void updateAutopilot(Vessel vessel, float delta, WorldManager worldManager) {
+        Boat boat = vessel.getBoat();
+        Vector2 position = boat.getPosition();
+        float dx = vessel.getTargetX() - position.x;
+        float dy = vessel.getTargetY() - position.y;
+        if (!vessel.hasTarget() || dx * dx + dy * dy < WAYPOINT_RADIUS * WAYPOINT_RADIUS || vessel.getLegTime() > LEG_TIMEOUT) {
+            pickWaypoint(vessel);
+        }
+
+        // Run aground? Push off like a player would
+        if (boat.getVelocity().len2() < STUCK_SPEED * STUCK_SPEED) {
+            vessel.setStuckTime(vessel.getStuckTime() + delta);
+            if (vessel.getStuckTime() > STUCK_SECONDS) {
+                boat.kickOff(worldManager);
+                vessel.setStuckTime(0);
+            }
+        } else {
+            vessel.setStuckTime(0);
+        }
+    }
+
+    private void pickWaypoint(Vessel vessel) {
+        Vector2 position = vessel.getBoat().getPosition();
+        float angle = random.nextFloat() * MathUtils.PI2;
+        float distance = LEG_MIN + random.nextFloat() * (LEG_MAX - LEG_MIN);
+        vessel.setTarget(position.x + MathUtils.cos(angle) * distance, position.y + MathUtils.sin(angle) * distance);
+    }
+
+    // Blends every boat between its last two simulation states; alpha comes from the simulation clock
+    public void interpolate(float alpha) {
+        for (int i = 0; i < vessels.size; i++) {
+            vessels.items[i].getBoat().interpolate(alpha);
+        }
+    }
+
+    // Queues the boats whose hulls overlap the view rectangle
+    public void submit(RenderQueue queue, WindManager windManager, float viewX, float viewY, float viewWidth, float viewHeight) {
+        for (int i = 0; i < vessels.size; i++) {
+            Boat boat = vessels.items[i].getBoat();
+            Vector2 position = boat.getRenderPosition();
+            float radius = boat.getHullRadius();
+            if (position.x + radius < viewX || position.x - radius > viewX + viewWidth
+                || position.y + radius < viewY || position.y - radius > viewY + viewHeight) {
+                continue;
+            }
+            boat.submit(queue, windManager);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (pool != null) pool.shutdown();
+    }
+}
@@ -0,0 +1,73 @@
+package com.landsea.game.simulation;
+
+// Fixed-rate simulation clock. Frame time is banked in an accumulator and paid out in
+// whole steps, so physics sees the same delta at 30, 60 or 144 FPS. The leftover fraction
+// of a step is exposed as an interpolation alpha for rendering between the last two states.
+public class SimulationClock {
+    public static final float DEFAULT_STEP_RATE = 60f; // Steps per second
+    public static final int DEFAULT_MAX_STEPS = 5;
+
+    private float stepSeconds;
+    private int maxStepsPerFrame;
+    private float accumulator;
+    private long totalSteps;
+    private int droppedSteps;
+
+    public SimulationClock() {
+        this(DEFAULT_STEP_RATE, DEFAULT_MAX_STEPS);
+    }
+
+    public SimulationClock(float stepRate, int maxStepsPerFrame) {
+        setStepRate(stepRate);
+        setMaxStepsPerFrame(maxStepsPerFrame);
+    }
+
+    public void setStepRate(float stepRate) {
+        if (stepRate <= 0) throw new IllegalArgumentException("Step rate must be positive: " + stepRate);
+        this.stepSeconds = 1f / stepRate;
+    }
+
+    public void setMaxStepsPerFrame(int maxStepsPerFrame) {
+        if (maxStepsPerFrame < 1) throw new IllegalArgumentException("Max steps must be at least 1: " + maxStepsPerFrame);
+        this.maxStepsPerFrame = maxStepsPerFrame;
+    }
+
+    // Banks the frame time and returns how many fixed steps to run this frame.
+    // After a long hitch the step count is capped and the rest of the backlog is dropped,
+    // so a slow frame can't snowball into ever longer catch-up frames.
+    public int advance(float frameDelta) {
+        if (frameDelta > 0) accumulator += frameDelta;
+
+        int steps = (int) (accumulator / stepSeconds);
+        if (steps > maxStepsPerFrame) {
+            droppedSteps += steps - maxStepsPerFrame;
+            steps = maxStepsPerFrame;
+            accumulator = 0;
+        } else {
+            accumulator -= steps * stepSeconds;
+        }
+        totalSteps += steps;
+        return steps;
+    }
+
+    // How far the render time lies between the previous and current simulation state (0..1)
+    public float getAlpha() {
+        return Math.min(1f, accumulator / stepSeconds);
+    }
+
+    public float getStepSeconds() {
+        return stepSeconds;
+    }
+
+    public float getStepRate() {
+        return 1f / stepSeconds;
+    }
+
+    public long getTotalSteps() {
+        return totalSteps;
+    }
+
+    public int getDroppedSteps() {
+        return droppedSteps;
+    }
+}
@@ -0,0 +1,96 @@
+package com.landsea.game.simulation;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.landsea.game.entities.Boat;
+import com.landsea.game.entities.boatparts.RudderPart;
+import com.landsea.game.environment.WindManager;
+import com.landsea.game.world.CoastField;
+
+// A boat in the fleet plus whatever is sailing it. Player boats take their rudder from input;
+// traders steer themselves between waypoints; derelicts just sit there with the sail down.
+public class Vessel {
+    public enum Role { PLAYER, TRADER, DERELICT }
+
+    private final Boat boat;
+    private final Role role;
+
+    // Trader autopilot
+    private float targetX, targetY;
+    private boolean hasTarget;
+    private float legTime; // Seconds spent on the current leg
+    private float stuckTime; // Seconds spent (nearly) stationary
+
+    public Vessel(Boat boat, Role role) {
+        this.boat = boat;
+        this.role = role;
+        if (role == Role.DERELICT && boat.getSail() != null && boat.getSail().isRaised()) {
+            boat.getSail().toggleRaise();
+        }
+    }
+
+    // Runs on a fleet worker thread for AI vessels: touches nothing but this vessel's own boat
+    void step(float delta, WindManager windManager, CoastField coastField) {
+        if (role == Role.TRADER && hasTarget) {
+            steer(delta);
+        }
+        boat.update(delta, windManager, coastField);
+        legTime += delta;
+    }
+
+    // Simple autopilot: swing the rudder towards an angle proportional to the heading error
+    private void steer(float delta) {
+        RudderPart rudder = boat.getRudder();
+        if (rudder == null) return;
+
+        Vector2 position = boat.getPosition();
+        // The boat's bow points along local +Y, i.e. 90 degrees past its angle
+        float desired = MathUtils.atan2(targetY - position.y, targetX - position.x) * MathUtils.radiansToDegrees - 90f;
+        float error = desired - boat.getAngle();
+        error = ((error % 360f) + 540f) % 360f - 180f; // Wrap to -180..180
+
+        // A positive rudder angle turns the boat towards a larger angle;
+        // updateInput subtracts input * turnSpeed (90 deg/s) * delta from the rudder angle
+        float targetRudder = MathUtils.clamp(error, -45f, 45f);
+        float input = MathUtils.clamp((rudder.getAngle() - targetRudder) / (90f * delta), -1f, 1f);
+        rudder.updateInput(delta, input);
+    }
+
+    public void setTarget(float x, float y) {
+        targetX = x;
+        targetY = y;
+        hasTarget = true;
+        legTime = 0;
+    }
+
+    public void clearTarget() {
+        hasTarget = false;
+    }
+
+    public boolean hasTarget() {
+        return hasTarget;
+    }
+
+    public float getTargetX() { return targetX; }
+    public float getTargetY() { return targetY; }
+
+    float getLegTime() {
+        return legTime;
+    }
+
+    float getStuckTime() {
+        return stuckTime;
+    }
+
+    void setStuckTime(float stuckTime) {
+        this.stuckTime = stuckTime;
+    }
+
+    public Boat getBoat() {
+        return boat;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+}
@@ -0,0 +1,250 @@
+package com.landsea.game.simulation;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.landsea.game.entities.Boat;
+import com.landsea.game.entities.BoatGrid;
+
+// Boat-to-boat collision for the fleet.
+//
+// Broadphase: sweep and prune over each hull's bounding circle. Vessel indices are kept in an
+// array sorted by the left edge of their circles; boats barely move between steps, so an
+// insertion sort puts it back in order in close to linear time, and each vessel is only tested
+// against the ones after it whose x intervals overlap.
+//
+// Narrowphase: the hull tiles of the smaller boat, as circles (like the coast sweep), against the
+// few cells of the other boat's BoatGrid they can reach. The deepest overlap is the contact.
+//
+// Response: overlap is split between the boats by inverse mass, then an impulse at the contact
+// point changes both their velocities and spins.
+//
+// Every working array is kept between steps and only grows, so resolving allocates nothing.
+public class VesselContacts {
+    private static final float RESTITUTION = 0.2f; // Fraction of closing speed kept when hulls bump
+    private static final float SLOP = 0.5f; // Pixels of overlap left alone so resting contacts don't jitter
+
+    private int[] order = new int[16]; // Vessel indices sorted by minX
+    private float[] minX = new float[16], maxX = new float[16], minY = new float[16], maxY = new float[16];
+    private int count;
+    private int[] pairs = new int[64]; // Candidate pairs, two vessel indices each
+    private int pairCount;
+    private int contactCount;
+
+    // Deepest contact found by the last narrowphase, in world space; the normal points from the
+    // second boat towards the first
+    private float contactX, contactY, normalX, normalY, depth;
+    private float cosA, sinA, cosB, sinB; // Headings of the pair, reused by the response
+
+    public void resolve(Array<Vessel> vessels) {
+        int n = vessels.size;
+        Vessel[] items = vessels.items;
+        resize(n);
+
+        for (int i = 0; i < n; i++) {
+            Boat boat = items[i].getBoat();
+            Vector2 position = boat.getPosition();
+            float radius = boat.getHullRadius();
+            minX[i] = position.x - radius;
+            maxX[i] = position.x + radius;
+            minY[i] = position.y - radius;
+            maxY[i] = position.y + radius;
+        }
+
+        // Insertion sort; nearly sorted from last step
+        for (int k = 1; k < n; k++) {
+            int index = order[k];
+            float key = minX[index];
+            int m = k - 1;
+            while (m >= 0 && minX[order[m]] > key) {
+                order[m + 1] = order[m];
+                m--;
+            }
+            order[m + 1] = index;
+        }
+
+        pairCount = 0;
+        for (int k = 0; k < n; k++) {
+            int a = order[k];
+            for (int m = k + 1; m < n; m++) {
+                int b = order[m];
+                if (minX[b] > maxX[a]) break; // Sorted, so nothing further along can overlap either
+                if (minY[b] > maxY[a] || maxY[b] < minY[a]) continue;
+                if (pairCount * 2 == pairs.length) {
+                    int[] grown = new int[pairs.length * 2];
+                    System.arraycopy(pairs, 0, grown, 0, pairs.length);
+                    pairs = grown;
+                }
+                pairs[pairCount * 2] = a;
+                pairs[pairCount * 2 + 1] = b;
+                pairCount++;
+            }
+        }
+
+        contactCount = 0;
+        for (int p = 0; p < pairCount; p++) {
+            Boat a = items[pairs[p * 2]].getBoat();
+            Boat b = items[pairs[p * 2 + 1]].getBoat();
+            // Walk the smaller hull against the bigger one's grid
+            if (a.getGrid().getHullCount() > b.getGrid().getHullCount()) {
+                Boat swap = a;
+                a = b;
+                b = swap;
+            }
+            if (findContact(a, b)) {
+                contactCount++;
+                respond(a, b);
+            }
+        }
+    }
+
+    // Keeps the sort order across steps: new vessels join at the end, removed ones drop out
+    private void resize(int n) {
+        if (n > order.length) {
+            int capacity = Math.max(n, order.length * 2);
+            int[] grownOrder = new int[capacity];
+            System.arraycopy(order, 0, grownOrder, 0, count);
+            order = grownOrder;
+            minX = new float[capacity];
+            maxX = new float[capacity];
+            minY = new float[capacity];
+            maxY = new float[capacity];
+        }
+        if (n < count) {
+            int kept = 0;
+            for (int k = 0; k < count; k++) {
+                if (order[k] < n) order[kept++] = order[k];
+            }
+        } else {
+            for (int i = count; i < n; i++) order[i] = i;
+        }
+        count = n;
+    }
+
+    // Hull tiles of a against the grid of b. Leaves the deepest overlap in the contact fields.
+    private boolean findContact(Boat a, Boat b) {
+        BoatGrid gridA = a.getGrid();
+        BoatGrid gridB = b.getGrid();
+        float tileA = a.getTileSize();
+        float tileB = b.getTileSize();
+        float reach = (tileA + tileB) / 2; // Centre distance at which two tile circles touch
+        float cells = reach / tileB;
+
+        float radA = a.getAngle() * MathUtils.degreesToRadians;
+        cosA = (float) Math.cos(radA);
+        sinA = (float) Math.sin(radA);
+        float radB = b.getAngle() * MathUtils.degreesToRadians;
+        cosB = (float) Math.cos(radB);
+        sinB = (float) Math.sin(radB);
+        Vector2 pa = a.getPosition();
+        Vector2 pb = b.getPosition();
+        float halfWidthA = gridA.getWidth() / 2f, halfHeightA = gridA.getHeight() / 2f;
+        float halfWidthB = gridB.getWidth() / 2f, halfHeightB = gridB.getHeight() / 2f;
+
+        depth = 0;
+        float bestX = 0, bestY = 0, bestNormalX = 0, bestNormalY = 0; // In b's local frame
+        for (int i = 0, n = gridA.getHullCount(); i < n; i++) {
+            // Tile centre: a's local frame -> world -> b's local frame
+            float localX = (gridA.getHullX(i) + 0.5f - halfWidthA) * tileA;
+            float localY = (gridA.getHullY(i) + 0.5f - halfHeightA) * tileA;
+            float dx = pa.x + localX * cosA - localY * sinA - pb.x;
+            float dy = pa.y + localX * sinA + localY * cosA - pb.y;
+            float bx = dx * cosB + dy * sinB;
+            float by = dy * cosB - dx * sinB;
+
+            // In b's cell-centre coordinates, the cells close enough to touch
+            float fx = bx / tileB + halfWidthB - 0.5f;
+            float fy = by / tileB + halfHeightB - 0.5f;
+            for (int cx = MathUtils.ceil(fx - cells), maxCx = MathUtils.floor(fx + cells); cx <= maxCx; cx++) {
+                for (int cy = MathUtils.ceil(fy - cells), maxCy = MathUtils.floor(fy + cells); cy <= maxCy; cy++) {
+                    if (!gridB.isOccupied(cx, cy)) continue;
+                    float ex = bx - (cx + 0.5f - halfWidthB) * tileB;
+                    float ey = by - (cy + 0.5f - halfHeightB) * tileB;
+                    float distSq = ex * ex + ey * ey;
+                    if (distSq >= reach * reach) continue;
+                    float dist = (float) Math.sqrt(distSq);
+                    if (reach - dist <= depth) continue;
+
+                    depth = reach - dist;
+                    if (dist > 1e-4f) {
+                        bestNormalX = ex / dist;
+                        bestNormalY = ey / dist;
+                    } else {
+                        // Dead on top of each other: push a away from b's centre
+                        float len = (float) Math.sqrt(bx * bx + by * by);
+                        bestNormalX = len > 1e-4f ? bx / len : 1f;
+                        bestNormalY = len > 1e-4f ? by / len : 0f;
+                    }
+                    // Halfway through the overlap
+                    bestX = bx - bestNormalX * (tileA / 2 - depth / 2);
+                    bestY = by - bestNormalY * (tileA / 2 - depth / 2);
+                }
+            }
+        }
+        if (depth <= 0) return false;
+
+        normalX = bestNormalX * cosB - bestNormalY * sinB;
+        normalY = bestNormalX * sinB + bestNormalY * cosB;
+        contactX = pb.x + bestX * cosB - bestY * sinB;
+        contactY = pb.y + bestX * sinB + bestY * cosB;
+        return true;
+    }
+
+    private void respond(Boat a, Boat b) {
+        float inverseMassA = 1f / a.getMass();
+        float inverseMassB = 1f / b.getMass();
+        float inverseMassSum = inverseMassA + inverseMassB;
+
+        // Separate first; the lighter boat gives way more
+        float correction = depth - SLOP;
+        if (correction > 0) {
+            float moveA = correction * inverseMassA / inverseMassSum;
+            float moveB = correction * inverseMassB / inverseMassSum;
+            a.getPosition().add(normalX * moveA, normalY * moveA);
+            b.getPosition().sub(normalX * moveB, normalY * moveB);
+            contactX += normalX * (moveA - moveB) / 2;
+            contactY += normalY * (moveA - moveB) / 2;
+        }
+
+        // Lever arms from each centre of mass to the contact
+        Vector2 pa = a.getPosition();
+        Vector2 pb = b.getPosition();
+        float armAX = contactX - (pa.x + a.getCentreOfMassX() * cosA - a.getCentreOfMassY() * sinA);
+        float armAY = contactY - (pa.y + a.getCentreOfMassX() * sinA + a.getCentreOfMassY() * cosA);
+        float armBX = contactX - (pb.x + b.getCentreOfMassX() * cosB - b.getCentreOfMassY() * sinB);
+        float armBY = contactY - (pb.y + b.getCentreOfMassX() * sinB + b.getCentreOfMassY() * cosB);
+
+        // Velocity of each hull at the contact point (spin is in degrees per second)
+        float omegaA = a.getAngularVelocity() * MathUtils.degreesToRadians;
+        float omegaB = b.getAngularVelocity() * MathUtils.degreesToRadians;
+        Vector2 va = a.getVelocity();
+        Vector2 vb = b.getVelocity();
+        float relX = (va.x - omegaA * armAY) - (vb.x - omegaB * armBY);
+        float relY = (va.y + omegaA * armAX) - (vb.y + omegaB * armBX);
+        float closing = relX * normalX + relY * normalY;
+        if (closing >= 0) return; // Already separating
+
+        // The boat physics turns torque / inertia straight into degrees per second, so a unit of
+        // angular impulse buys degreesToRadians worth of point velocity per pixel of lever arm
+        float crossA = armAX * normalY - armAY * normalX;
+        float crossB = armBX * normalY - armBY * normalX;
+        float inverseInertiaA = MathUtils.degreesToRadians / a.getMomentOfInertia();
+        float inverseInertiaB = MathUtils.degreesToRadians / b.getMomentOfInertia();
+        float impulse = -(1 + RESTITUTION) * closing
+            / (inverseMassSum + crossA * crossA * inverseInertiaA + crossB * crossB * inverseInertiaB);
+
+        va.add(normalX * impulse * inverseMassA, normalY * impulse * inverseMassA);
+        vb.sub(normalX * impulse * inverseMassB, normalY * impulse * inverseMassB);
+        a.setAngularVelocity(a.getAngularVelocity() + crossA * impulse / a.getMomentOfInertia());
+        b.setAngularVelocity(b.getAngularVelocity() - crossB * impulse / b.getMomentOfInertia());
+    }
+
+    // Broadphase pairs and actual contacts from the last resolve, for profiling
+    public int getPairCount() {
+        return pairCount;
+    }
+
+    public int getContactCount() {
+        return contactCount;
+    }
+}
@@ -5,6 +5,7 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector2;
@@ -13,6 +14,7 @@ import com.landsea.game.environment.WindManager;
 import com.landsea.game.environment.TimeManager;
 import com.landsea.game.environment.WeatherManager;
 import com.landsea.game.entities.Player;
+import com.landsea.game.graphics.RenderQueue;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.landsea.game.inventory.Inventory;
 import com.landsea.game.inventory.ItemStack;
@@ -22,128 +24,152 @@ import com.landsea.game.crafting.CraftingRecipe;
 import java.util.Map;
 
 public class Hud implements Disposable {
+    private static final float BAR_WIDTH = 200;
+    private static final float BAR_HEIGHT = 15;
+    private static final float BAR_X = 20;
+    private static final float BAR_Y = 20;
+    private static final float BAR_PADDING = 5;
+    private static final float INVENTORY_WIDTH = 400;
+    private static final float INVENTORY_HEIGHT = 300;
+    private static final float CRAFTING_WIDTH = 400;
+    private static final float CRAFTING_HEIGHT = 400;
+
     private SpriteBatch batch;
-    private ShapeRenderer shapeRenderer;
+    private ShapeRenderer shapeRenderer; // Shared with the world pass, not ours to dispose
     private BitmapFont font;
+    private final Matrix4 screenProjection = new Matrix4();
+    private final Vector3 screenPos = new Vector3();
 
-    public Hud() {
+    public Hud(ShapeRenderer shapeRenderer) {
         batch = new SpriteBatch();
-        shapeRenderer = new ShapeRenderer();
+        this.shapeRenderer = shapeRenderer;
         font = new BitmapFont();
         font.setColor(Color.WHITE);
         font.getData().setScale(1.5f);
     }
 
-    public void render(WindManager windManager, TimeManager timeManager, WeatherManager weatherManager, Player player, Camera camera, boolean showInventory, boolean showCrafting, CraftingManager craftingManager) {
+    // All the HUD's shapes go in one pass, then all its text in another
+    public void render(WindManager windManager, TimeManager timeManager, WeatherManager weatherManager, Player player, Camera camera, boolean showInventory, boolean showCrafting, CraftingManager craftingManager, boolean showDebug, RenderQueue renderQueue) {
+        float screenW = Gdx.graphics.getWidth();
+        float screenH = Gdx.graphics.getHeight();
+        screenProjection.setToOrtho2D(0, 0, screenW, screenH);
+        
+        // Shapes: vitals, then panel backgrounds
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        shapeRenderer.setProjectionMatrix(screenProjection);
+        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+        renderVitals(player);
+        if (showInventory) {
+            renderPanel((screenW - INVENTORY_WIDTH) / 2, (screenH - INVENTORY_HEIGHT) / 2, INVENTORY_WIDTH, INVENTORY_HEIGHT);
+        }
+        if (showCrafting) {
+            renderPanel((screenW - CRAFTING_WIDTH) / 2, (screenH - CRAFTING_HEIGHT) / 2, CRAFTING_WIDTH, CRAFTING_HEIGHT);
+        }
+        shapeRenderer.end();
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+        
+        // Text
         Vector2 wind = windManager.getWindVector();
         float speed = wind.len() / 10f; // Arbitrary scaling: 100 units -> 10 knots
         float angle = wind.angleDeg();
         
         String direction = getDirectionString(angle);
         
+        batch.setProjectionMatrix(screenProjection);
         batch.begin();
-        font.draw(batch, String.format("Wind: %.1f knots %s", speed, direction), 20, Gdx.graphics.getHeight() - 20);
+        font.draw(batch, String.format("Wind: %.1f knots %s", speed, direction), 20, screenH - 20);
         
         // Draw Time and Weather
         int day = timeManager.getDay();
         int hour = timeManager.getHour();
         int minute = timeManager.getMinute();
         String weather = weatherManager.getCurrentState().toString();
-        font.draw(batch, String.format("Day %d, %02d:%02d (%s)", day, hour, minute, weather), 20, Gdx.graphics.getHeight() - 50);
+        font.draw(batch, String.format("Day %d, %02d:%02d (%s)", day, hour, minute, weather), 20, screenH - 50);
         
         String warning = player.getWarningMessage();
         if (warning != null) {
             Vector2 playerPos = player.getWorldPosition();
-            Vector3 screenPos = camera.project(new Vector3(playerPos.x, playerPos.y, 0));
+            camera.project(screenPos.set(playerPos.x, playerPos.y, 0));
             
             font.setColor(Color.RED);
             font.draw(batch, warning, screenPos.x - 100, screenPos.y + 60);
             font.setColor(Color.WHITE);
         }
         
-        batch.end();
+        if (showDebug) {
+            renderDebug(renderQueue, screenH - 80);
+        }
         
-        renderVitals(player);
+        renderVitalLabels();
         
         if (showInventory) {
-            renderInventory(player.getInventory());
+            renderInventory(player.getInventory(), (screenW - INVENTORY_WIDTH) / 2, (screenH - INVENTORY_HEIGHT) / 2);
         }
         
         if (showCrafting) {
-            renderCrafting(craftingManager, player.getInventory());
+            renderCrafting(craftingManager, player.getInventory(), (screenW - CRAFTING_WIDTH) / 2, (screenH - CRAFTING_HEIGHT) / 2);
         }
+        batch.end();
+    }
+    
+    // Last frame's world pass, as counted by the render queue
+    private void renderDebug(RenderQueue renderQueue, float y) {
+        font.getData().setScale(1.0f);
+        font.setColor(Color.YELLOW);
+        font.draw(batch, String.format("FPS %d", Gdx.graphics.getFramesPerSecond()), 20, y);
+        font.draw(batch, String.format("Draw calls %d, batches %d, commands %d (%d own GL)",
+            renderQueue.getDrawCalls(), renderQueue.getBatchCount(), renderQueue.getCommandCount(), renderQueue.getCustomCount()), 20, y - 20);
+        font.setColor(Color.WHITE);
+        font.getData().setScale(1.5f);
     }
     
     private void renderVitals(Player player) {
-        float barWidth = 200;
-        float barHeight = 15;
-        float startX = 20;
-        float startY = 20;
-        float padding = 5;
-        
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+        float startY = BAR_Y;
         
         // Stamina (Green)
-        shapeRenderer.setColor(Color.DARK_GRAY);
-        shapeRenderer.rect(startX, startY, barWidth, barHeight);
-        shapeRenderer.setColor(Color.GREEN);
-        shapeRenderer.rect(startX, startY, barWidth * (player.getStamina() / 100f), barHeight);
+        renderBar(startY, player.getStamina(), Color.GREEN);
         
         // Thirst (Blue)
-        startY += barHeight + padding;
-        shapeRenderer.setColor(Color.DARK_GRAY);
-        shapeRenderer.rect(startX, startY, barWidth, barHeight);
-        shapeRenderer.setColor(Color.CYAN);
-        shapeRenderer.rect(startX, startY, barWidth * (player.getThirst() / 100f), barHeight);
+        startY += BAR_HEIGHT + BAR_PADDING;
+        renderBar(startY, player.getThirst(), Color.CYAN);
 
         // Hunger (Orange)
-        startY += barHeight + padding;
-        shapeRenderer.setColor(Color.DARK_GRAY);
-        shapeRenderer.rect(startX, startY, barWidth, barHeight);
-        shapeRenderer.setColor(Color.ORANGE);
-        shapeRenderer.rect(startX, startY, barWidth * (player.getHunger() / 100f), barHeight);
+        startY += BAR_HEIGHT + BAR_PADDING;
+        renderBar(startY, player.getHunger(), Color.ORANGE);
 
         // Health (Red)
-        startY += barHeight + padding;
+        startY += BAR_HEIGHT + BAR_PADDING;
+        renderBar(startY, player.getHealth(), Color.RED);
+    }
+    
+    private void renderBar(float y, float value, Color color) {
         shapeRenderer.setColor(Color.DARK_GRAY);
-        shapeRenderer.rect(startX, startY, barWidth, barHeight);
-        shapeRenderer.setColor(Color.RED);
-        shapeRenderer.rect(startX, startY, barWidth * (player.getHealth() / 100f), barHeight);
-        
-        shapeRenderer.end();
-        
-        // Labels
-        batch.begin();
+        shapeRenderer.rect(BAR_X, y, BAR_WIDTH, BAR_HEIGHT);
+        shapeRenderer.setColor(color);
+        shapeRenderer.rect(BAR_X, y, BAR_WIDTH * (value / 100f), BAR_HEIGHT);
+    }
+    
+    private void renderVitalLabels() {
+        float labelX = BAR_X + BAR_WIDTH + 5;
+        float step = BAR_HEIGHT + BAR_PADDING;
         font.getData().setScale(1.0f);
-        font.draw(batch, "HP", startX + barWidth + 5, startY + 12);
-        font.draw(batch, "Food", startX + barWidth + 5, startY - (barHeight + padding) + 12);
-        font.draw(batch, "H2O", startX + barWidth + 5, startY - 2 * (barHeight + padding) + 12);
-        font.draw(batch, "Stam", startX + barWidth + 5, startY - 3 * (barHeight + padding) + 12);
+        font.draw(batch, "Stam", labelX, BAR_Y + 12);
+        font.draw(batch, "H2O", labelX, BAR_Y + step + 12);
+        font.draw(batch, "Food", labelX, BAR_Y + 2 * step + 12);
+        font.draw(batch, "HP", labelX, BAR_Y + 3 * step + 12);
         font.getData().setScale(1.5f);
-        batch.end();
     }
-
-    private void renderInventory(Inventory inventory) {
-        float screenW = Gdx.graphics.getWidth();
-        float screenH = Gdx.graphics.getHeight();
-        float width = 400;
-        float height = 300;
-        float x = (screenW - width) / 2;
-        float y = (screenH - height) / 2;
-        
-        // Background
-        Gdx.gl.glEnable(GL20.GL_BLEND);
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+    
+    private void renderPanel(float x, float y, float width, float height) {
         shapeRenderer.setColor(0, 0, 0, 0.8f);
         shapeRenderer.rect(x, y, width, height);
-        shapeRenderer.end();
-        Gdx.gl.glDisable(GL20.GL_BLEND);
-        
-        // Items
-        batch.begin();
-        font.draw(batch, "INVENTORY", x + 20, y + height - 20);
+    }
+
+    private void renderInventory(Inventory inventory, float x, float y) {
+        font.draw(batch, "INVENTORY", x + 20, y + INVENTORY_HEIGHT - 20);
         
-        float itemY = y + height - 60;
+        float itemY = y + INVENTORY_HEIGHT - 60;
         for (ItemStack stack : inventory.getSlots()) {
             String text = stack.getItem().getName() + ": " + stack.getCount();
             if (stack.getMaxDurability() > 0) {
@@ -152,30 +178,12 @@ public class Hud implements Disposable {
             font.draw(batch, text, x + 20, itemY);
             itemY -= 30;
         }
-        batch.end();
     }
     
-    private void renderCrafting(CraftingManager craftingManager, Inventory inventory) {
-        float screenW = Gdx.graphics.getWidth();
-        float screenH = Gdx.graphics.getHeight();
-        float width = 400;
-        float height = 400;
-        float x = (screenW - width) / 2;
-        float y = (screenH - height) / 2;
+    private void renderCrafting(CraftingManager craftingManager, Inventory inventory, float x, float y) {
+        font.draw(batch, "CRAFTING (Press Number to Craft)", x + 20, y + CRAFTING_HEIGHT - 20);
         
-        // Background
-        Gdx.gl.glEnable(GL20.GL_BLEND);
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-        shapeRenderer.setColor(0, 0, 0, 0.8f);
-        shapeRenderer.rect(x, y, width, height);
-        shapeRenderer.end();
-        Gdx.gl.glDisable(GL20.GL_BLEND);
-        
-        // Recipes
-        batch.begin();
-        font.draw(batch, "CRAFTING (Press Number to Craft)", x + 20, y + height - 20);
-        
-        float itemY = y + height - 60;
+        float itemY = y + CRAFTING_HEIGHT - 60;
         int index = 1;
         for (CraftingRecipe recipe : craftingManager.getRecipes()) {
             boolean canCraft = craftingManager.canCraft(inventory, recipe);
@@ -194,7 +202,6 @@ public class Hud implements Disposable {
             index++;
             font.setColor(Color.WHITE);
         }
-        batch.end();
     }
     
     private String getDirectionString(float angle) {
@@ -215,7 +222,6 @@ public class Hud implements Disposable {
     @Override
     public void dispose() {
         batch.dispose();
-        shapeRenderer.dispose();
         font.dispose();
     }
 }
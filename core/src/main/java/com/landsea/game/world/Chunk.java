@@ -1,98 +1,255 @@
 package com.landsea.game.world;
 
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Disposable;
 import com.landsea.game.entities.ResourceNode;
-import java.util.ArrayList;
-import java.util.List;
 
-public class Chunk {
+public class Chunk implements Disposable {
     public static final int CHUNK_SIZE = 16; // Tiles per chunk axis
     public static final float TILE_SIZE = 32f; // Pixels per tile
     
+    private static final Biome[] BIOMES = Biome.values();
+    private static final float HEIGHT_QUANTUM = 32767f;
+    public static final float WATER_LEVEL = 0.5f; // Increased to 0.5 for more water
+    
+    // Coastline signed distance field: sampled at tile centres with one tile of padding on every
+    // side (so lookups never need the neighbouring chunk), stored in 1/8-tile units, positive over
+    // water, negative over land, clamped to COAST_RANGE_TILES either way
+    public static final int COAST_GRID = CHUNK_SIZE + 2;
+    public static final int COAST_RANGE_TILES = 4;
+    public static final float COAST_UNIT = TILE_SIZE / 8f; // Pixels per stored unit
+    
     private int chunkX, chunkY;
-    private float[][] heightMap; // 0.0 - 1.0
-    private Biome[][] biomeMap;
-    private List<ResourceNode> resourceNodes;
+    // Flat tile arrays indexed by x * CHUNK_SIZE + y
+    private short[] heights; // 0.0 - 1.0 quantised to 0 - 32767
+    private byte[] biomes; // Biome ordinals
+    private long[] landMask; // One bit per tile, set where height > WATER_LEVEL
+    private byte[] coastDistance; // COAST_GRID x COAST_GRID, indexed gx * COAST_GRID + gy
+    private ResourceStore resources;
+    private ResourceGrid resourceGrid; // Spatial index over the live (non-depleted) nodes
+    private int generatedNodeCount; // Nodes [0, generatedNodeCount) come from the seed, the rest were placed by the player
+    private long lastAccess; // Frame stamp for LRU eviction
+    
+    // Terrain baked into a static mesh on first draw; rebuilt only when tiles change
+    private Mesh terrainMesh;
+    private boolean meshDirty = true;
     
     public Chunk(int chunkX, int chunkY) {
         this.chunkX = chunkX;
         this.chunkY = chunkY;
-        this.heightMap = new float[CHUNK_SIZE][CHUNK_SIZE];
-        this.biomeMap = new Biome[CHUNK_SIZE][CHUNK_SIZE];
-        this.resourceNodes = new ArrayList<>();
+        this.heights = new short[CHUNK_SIZE * CHUNK_SIZE];
+        this.biomes = new byte[CHUNK_SIZE * CHUNK_SIZE];
+        this.landMask = new long[CHUNK_SIZE * CHUNK_SIZE / 64];
+        this.coastDistance = new byte[COAST_GRID * COAST_GRID];
+        this.resources = new ResourceStore();
+        this.resourceGrid = new ResourceGrid(resources, chunkX * CHUNK_SIZE * TILE_SIZE, chunkY * CHUNK_SIZE * TILE_SIZE);
+    }
+    
+    // Adds a node at full health and returns its index in the store
+    public int addResource(float x, float y, ResourceNode.Type type) {
+        int index = resources.add(x, y, type);
+        resourceGrid.insert(index);
+        return index;
+    }
+    
+    public ResourceGrid getResourceGrid() {
+        return resourceGrid;
+    }
+    
+    public ResourceStore getResources() {
+        return resources;
+    }
+    
+    // Called once the generator is done, so later additions can be told apart from the baseline
+    public void markGenerated() {
+        generatedNodeCount = resources.size();
+    }
+    
+    public int getGeneratedNodeCount() {
+        return generatedNodeCount;
+    }
+    
+    // A pristine chunk can be dropped and regenerated from the seed without losing anything
+    public boolean isPristine() {
+        if (resources.size() != generatedNodeCount) return false;
+        for (int i = 0; i < generatedNodeCount; i++) {
+            if (resources.isModified(i)) return false;
+        }
+        return true;
+    }
+    
+    public void touch(long frame) {
+        lastAccess = frame;
+    }
+    
+    public long getLastAccess() {
+        return lastAccess;
     }
     
-    public void addResourceNode(ResourceNode node) {
-        resourceNodes.add(node);
+    // Rough heap footprint: short heights, byte biomes, 4-long land mask, byte coast field plus the node arrays.
+    // (The old float[16][16] + Biome[16][16] grids came to ~2.7 KB per chunk, this is ~1.2 KB.)
+    public int estimateMemoryBytes() {
+        int tiles = CHUNK_SIZE * CHUNK_SIZE;
+        int grids = (16 + tiles * 2) + (16 + tiles) + (16 + tiles / 8) + (16 + COAST_GRID * COAST_GRID);
+        return 64 + grids + resources.estimateMemoryBytes();
     }
     
-    public List<ResourceNode> getResourceNodes() {
-        return resourceNodes;
+    private static boolean inBounds(int x, int y) {
+        return ((x | y) & ~(CHUNK_SIZE - 1)) == 0; // Both in [0, CHUNK_SIZE)
     }
     
     public void setHeight(int x, int y, float height) {
-        if (x >= 0 && x < CHUNK_SIZE && y >= 0 && y < CHUNK_SIZE) {
-            heightMap[x][y] = height;
+        if (inBounds(x, y)) {
+            int i = x * CHUNK_SIZE + y;
+            heights[i] = (short) Math.round(height * HEIGHT_QUANTUM);
+            meshDirty = true;
+            // Land is decided on the exact height, before quantisation
+            if (height > WATER_LEVEL) {
+                landMask[i >> 6] |= 1L << i;
+            } else {
+                landMask[i >> 6] &= ~(1L << i);
+            }
         }
     }
     
     public void setBiome(int x, int y, Biome biome) {
-        if (x >= 0 && x < CHUNK_SIZE && y >= 0 && y < CHUNK_SIZE) {
-            biomeMap[x][y] = biome;
+        if (inBounds(x, y)) {
+            biomes[x * CHUNK_SIZE + y] = (byte) biome.ordinal();
+            meshDirty = true;
         }
     }
     
     public float getHeight(int x, int y) {
-        if (x >= 0 && x < CHUNK_SIZE && y >= 0 && y < CHUNK_SIZE) {
-            return heightMap[x][y];
+        if (inBounds(x, y)) {
+            return heights[x * CHUNK_SIZE + y] / HEIGHT_QUANTUM;
         }
         return 0f;
     }
     
+    public Biome getBiome(int x, int y) {
+        if (inBounds(x, y)) {
+            return BIOMES[biomes[x * CHUNK_SIZE + y]];
+        }
+        return Biome.OCEAN;
+    }
+    
+    // Raw access for the generator; gx/gy run over the padded grid (tile x + 1, tile y + 1)
+    void setCoastDistance(int gx, int gy, byte units) {
+        coastDistance[gx * COAST_GRID + gy] = units;
+    }
+    
+    // Signed distance in pixels from a point (relative to the chunk's corner) to the nearest
+    // coastline, bilinearly interpolated between tile centres. Positive means open water.
+    public float getCoastDistance(float localX, float localY) {
+        // Grid coordinate of the point, where sample g sits at the centre of tile g - 1
+        float gx = localX / TILE_SIZE + 0.5f;
+        float gy = localY / TILE_SIZE + 0.5f;
+        if (gx < 0) gx = 0;
+        if (gy < 0) gy = 0;
+        if (gx > COAST_GRID - 1.001f) gx = COAST_GRID - 1.001f;
+        if (gy > COAST_GRID - 1.001f) gy = COAST_GRID - 1.001f;
+        
+        int x0 = (int) gx;
+        int y0 = (int) gy;
+        float fx = gx - x0;
+        float fy = gy - y0;
+        int i = x0 * COAST_GRID + y0;
+        float d00 = coastDistance[i];
+        float d01 = coastDistance[i + 1];
+        float d10 = coastDistance[i + COAST_GRID];
+        float d11 = coastDistance[i + COAST_GRID + 1];
+        float d0 = d00 + (d01 - d00) * fy;
+        float d1 = d10 + (d11 - d10) * fy;
+        return (d0 + (d1 - d0) * fx) * COAST_UNIT;
+    }
+    
     public boolean isLand(int x, int y) {
-        if (x >= 0 && x < CHUNK_SIZE && y >= 0 && y < CHUNK_SIZE) {
-            return heightMap[x][y] > 0.5f; // Water level (Increased to 0.5 for more water)
+        if (inBounds(x, y)) {
+            int i = x * CHUNK_SIZE + y;
+            return (landMask[i >> 6] & (1L << i)) != 0;
         }
         return false;
     }
     
-    public void render(ShapeRenderer shapeRenderer, Vector2 cameraPos, float viewportWidth, float viewportHeight) {
+    // Draws the cached terrain mesh (one draw call), baking it first if tiles changed.
+    // The shader must already be bound with the camera projection.
+    public void renderTerrain(ShaderProgram shader) {
+        if (meshDirty) {
+            rebuildMesh();
+        }
+        if (terrainMesh != null) {
+            terrainMesh.render(shader, GL20.GL_TRIANGLES);
+        }
+    }
+    
+    private void rebuildMesh() {
+        meshDirty = false;
+        if (terrainMesh != null) {
+            terrainMesh.dispose();
+            terrainMesh = null;
+        }
+        
+        int landTiles = 0;
+        for (long bits : landMask) landTiles += Long.bitCount(bits);
+        if (landTiles == 0) return;
+        
+        // Per tile: 4 corners of (x, y, packed colour) and 2 triangles
+        float[] vertices = new float[landTiles * 4 * 3];
+        short[] indices = new short[landTiles * 6];
         float worldX = chunkX * CHUNK_SIZE * TILE_SIZE;
         float worldY = chunkY * CHUNK_SIZE * TILE_SIZE;
-        
-        // Culling: Check if chunk is visible
-        if (worldX + CHUNK_SIZE * TILE_SIZE < cameraPos.x - viewportWidth / 2 ||
-            worldX > cameraPos.x + viewportWidth / 2 ||
-            worldY + CHUNK_SIZE * TILE_SIZE < cameraPos.y - viewportHeight / 2 ||
-            worldY > cameraPos.y + viewportHeight / 2) {
-            return;
-        }
+        int v = 0, idx = 0, quad = 0;
         
         for (int x = 0; x < CHUNK_SIZE; x++) {
             for (int y = 0; y < CHUNK_SIZE; y++) {
-                float h = heightMap[x][y];
-                if (h > 0.5f) {
-                    // Color based on biome and height
-                    Biome biome = biomeMap[x][y];
-                    if (biome == null) biome = Biome.GRASSLAND; // Fallback
-                    
-                    shapeRenderer.setColor(biome.getColor());
-                    
-                    // Slight height shading
-                    float shade = 0.8f + h * 0.2f;
-                    shapeRenderer.setColor(biome.getColor().r * shade, biome.getColor().g * shade, biome.getColor().b * shade, 1f);
-                    
-                    shapeRenderer.rect(worldX + x * TILE_SIZE, worldY + y * TILE_SIZE, TILE_SIZE, TILE_SIZE);
-                }
+                if (!isLand(x, y)) continue;
+                int i = x * CHUNK_SIZE + y;
+                float h = heights[i] / HEIGHT_QUANTUM;
+                // Color based on biome and height
+                Biome biome = BIOMES[biomes[i]];
+                
+                // Slight height shading
+                float shade = 0.8f + h * 0.2f;
+                float color = Color.toFloatBits(biome.getColor().r * shade, biome.getColor().g * shade, biome.getColor().b * shade, 1f);
+                
+                float x0 = worldX + x * TILE_SIZE, y0 = worldY + y * TILE_SIZE;
+                float x1 = x0 + TILE_SIZE, y1 = y0 + TILE_SIZE;
+                vertices[v++] = x0; vertices[v++] = y0; vertices[v++] = color;
+                vertices[v++] = x1; vertices[v++] = y0; vertices[v++] = color;
+                vertices[v++] = x1; vertices[v++] = y1; vertices[v++] = color;
+                vertices[v++] = x0; vertices[v++] = y1; vertices[v++] = color;
+                
+                short base = (short) (quad * 4);
+                indices[idx++] = base;
+                indices[idx++] = (short) (base + 1);
+                indices[idx++] = (short) (base + 2);
+                indices[idx++] = (short) (base + 2);
+                indices[idx++] = (short) (base + 3);
+                indices[idx++] = base;
+                quad++;
             }
         }
         
-        // Render resource nodes
-        for (ResourceNode node : resourceNodes) {
-            node.render(shapeRenderer);
+        terrainMesh = new Mesh(true, landTiles * 4, landTiles * 6,
+            new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+            new VertexAttribute(VertexAttributes.Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE));
+        terrainMesh.setVertices(vertices);
+        terrainMesh.setIndices(indices);
+    }
+    
+    // Releases the GPU mesh; called on the render thread when the chunk is unloaded
+    @Override
+    public void dispose() {
+        if (terrainMesh != null) {
+            terrainMesh.dispose();
+            terrainMesh = null;
         }
+        meshDirty = true;
     }
     
     public int getChunkX() { return chunkX; }
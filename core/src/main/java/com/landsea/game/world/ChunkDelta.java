@@ -0,0 +1,130 @@
+package com.landsea.game.world;
+
+import com.landsea.game.entities.ResourceNode;
+import java.nio.ByteBuffer;
+
+// The difference between a chunk and what the seed would generate for it:
+// damaged/harvested baseline nodes plus anything the player placed (campfires).
+public class ChunkDelta {
+    private static final ResourceNode.Type[] TYPES = ResourceNode.Type.values();
+
+    // Baseline nodes, addressed by their generation order
+    int[] changedIndices;
+    float[] changedHealth;
+    int[] changedRegrow; // Game second a depleted node grows back, 0 if not pending
+
+    // Player-placed nodes
+    byte[] addedTypes;
+    float[] addedX;
+    float[] addedY;
+    float[] addedHealth;
+    int[] addedRegrow;
+
+    ChunkDelta(int changedCount, int addedCount) {
+        changedIndices = new int[changedCount];
+        changedHealth = new float[changedCount];
+        changedRegrow = new int[changedCount];
+        addedTypes = new byte[addedCount];
+        addedX = new float[addedCount];
+        addedY = new float[addedCount];
+        addedHealth = new float[addedCount];
+        addedRegrow = new int[addedCount];
+    }
+
+    // Returns null for pristine chunks, which need nothing stored
+    public static ChunkDelta capture(Chunk chunk) {
+        ResourceStore nodes = chunk.getResources();
+        int generated = chunk.getGeneratedNodeCount();
+
+        int changed = 0;
+        for (int i = 0; i < generated; i++) {
+            if (nodes.isModified(i)) changed++;
+        }
+        int added = nodes.size() - generated;
+        if (changed == 0 && added == 0) return null;
+
+        ChunkDelta delta = new ChunkDelta(changed, added);
+        int c = 0;
+        for (int i = 0; i < generated; i++) {
+            if (nodes.isModified(i)) {
+                delta.changedIndices[c] = i;
+                delta.changedHealth[c] = nodes.getHealth(i);
+                delta.changedRegrow[c] = nodes.getRegrowTime(i);
+                c++;
+            }
+        }
+        for (int i = 0; i < added; i++) {
+            int index = generated + i;
+            delta.addedTypes[i] = (byte) nodes.getType(index).ordinal();
+            delta.addedX[i] = nodes.getX(index);
+            delta.addedY[i] = nodes.getY(index);
+            delta.addedHealth[i] = nodes.getHealth(index);
+            delta.addedRegrow[i] = nodes.getRegrowTime(index);
+        }
+        return delta;
+    }
+
+    // Replays the delta on a freshly generated chunk. Regrowths that came due while the chunk was
+    // unloaded are left for WorldManager to apply against the current time.
+    public void applyTo(Chunk chunk) {
+        ResourceStore nodes = chunk.getResources();
+        for (int i = 0; i < changedIndices.length; i++) {
+            int index = changedIndices[i];
+            // Guard against generator changes between saves
+            if (index < chunk.getGeneratedNodeCount()) {
+                nodes.setHealth(index, changedHealth[i]);
+                nodes.setRegrowTime(index, changedRegrow[i]);
+            }
+        }
+        for (int i = 0; i < addedTypes.length; i++) {
+            int index = chunk.addResource(addedX[i], addedY[i], TYPES[addedTypes[i]]);
+            nodes.setHealth(index, addedHealth[i]);
+            nodes.setRegrowTime(index, addedRegrow[i]);
+        }
+    }
+
+    // Serialized form: changed count, added count (shorts), then
+    // changed entries (short index, float health, int regrow) and added entries (byte type,
+    // float x, y, health, int regrow). Version 1 had no regrow fields.
+    public int encodedSize() {
+        return 4 + changedIndices.length * 10 + addedTypes.length * 17;
+    }
+
+    public void write(ByteBuffer out) {
+        out.putShort((short) changedIndices.length);
+        out.putShort((short) addedTypes.length);
+        for (int i = 0; i < changedIndices.length; i++) {
+            out.putShort((short) changedIndices[i]);
+            out.putFloat(changedHealth[i]);
+            out.putInt(changedRegrow[i]);
+        }
+        for (int i = 0; i < addedTypes.length; i++) {
+            out.put(addedTypes[i]);
+            out.putFloat(addedX[i]);
+            out.putFloat(addedY[i]);
+            out.putFloat(addedHealth[i]);
+            out.putInt(addedRegrow[i]);
+        }
+    }
+
+    // version is the region file's; older payloads are read with nothing pending regrowth
+    public static ChunkDelta read(ByteBuffer in, int version) {
+        boolean regrow = version >= 2;
+        int changed = in.getShort() & 0xFFFF;
+        int added = in.getShort() & 0xFFFF;
+        ChunkDelta delta = new ChunkDelta(changed, added);
+        for (int i = 0; i < changed; i++) {
+            delta.changedIndices[i] = in.getShort() & 0xFFFF;
+            delta.changedHealth[i] = in.getFloat();
+            if (regrow) delta.changedRegrow[i] = in.getInt();
+        }
+        for (int i = 0; i < added; i++) {
+            delta.addedTypes[i] = in.get();
+            delta.addedX[i] = in.getFloat();
+            delta.addedY[i] = in.getFloat();
+            delta.addedHealth[i] = in.getFloat();
+            if (regrow) delta.addedRegrow[i] = in.getInt();
+        }
+        return delta;
+    }
+}
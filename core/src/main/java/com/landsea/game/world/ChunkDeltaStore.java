@@ -0,0 +1,157 @@
+package com.landsea.game.world;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.LongMap;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+// Holds the deltas of chunks the player changed, keyed by chunk. Pristine chunks are never
+// stored: the seed reproduces them exactly. With a save directory the deltas live in
+// memory-mapped RegionFiles, so what is written is proportional to what the player changed.
+// Without one they are kept in memory for the session only.
+public class ChunkDeltaStore {
+    private static final int MAX_OPEN_REGIONS = 16;
+    private static final String CLOCK_FILE = "clock.dat";
+
+    private final File directory;
+    private final long seed;
+    private final LongMap<ChunkDelta> memory = new LongMap<>();
+    private final LongMap<RegionFile> regions = new LongMap<>();
+
+    public ChunkDeltaStore() {
+        this(null, 0);
+    }
+
+    public ChunkDeltaStore(File directory, long seed) {
+        this.directory = directory;
+        this.seed = seed;
+        if (directory != null) directory.mkdirs();
+    }
+
+    // Saves the chunk's changes (or forgets them if the chunk is back to pristine).
+    // Returns true if anything was written.
+    public boolean writeBack(Chunk chunk) {
+        int chunkX = chunk.getChunkX();
+        int chunkY = chunk.getChunkY();
+        ChunkDelta delta = ChunkDelta.capture(chunk);
+
+        if (directory == null) {
+            long key = ChunkStore.key(chunkX, chunkY);
+            if (delta == null) {
+                memory.remove(key);
+                return false;
+            }
+            memory.put(key, delta);
+            return true;
+        }
+
+        RegionFile region = delta != null ? region(chunkX, chunkY, true) : region(chunkX, chunkY, false);
+        int localX = Math.floorMod(chunkX, RegionFile.REGION_SIZE);
+        int localY = Math.floorMod(chunkY, RegionFile.REGION_SIZE);
+        if (delta == null) {
+            if (region != null) region.delete(localX, localY);
+            return false;
+        }
+        // Encode straight into the mapped file
+        delta.write(region.allocate(localX, localY, delta.encodedSize()));
+        return true;
+    }
+
+    // Applies any saved changes to a freshly generated chunk
+    public void restore(Chunk chunk) {
+        int chunkX = chunk.getChunkX();
+        int chunkY = chunk.getChunkY();
+        ChunkDelta delta;
+
+        if (directory == null) {
+            delta = memory.get(ChunkStore.key(chunkX, chunkY));
+        } else {
+            RegionFile region = region(chunkX, chunkY, false);
+            if (region == null) return;
+            ByteBuffer data = region.read(Math.floorMod(chunkX, RegionFile.REGION_SIZE), Math.floorMod(chunkY, RegionFile.REGION_SIZE));
+            delta = data != null ? ChunkDelta.read(data, region.getVersion()) : null;
+        }
+
+        if (delta != null) {
+            delta.applyTo(chunk);
+        }
+    }
+
+    private RegionFile region(int chunkX, int chunkY, boolean create) {
+        int regionX = Math.floorDiv(chunkX, RegionFile.REGION_SIZE);
+        int regionY = Math.floorDiv(chunkY, RegionFile.REGION_SIZE);
+        long key = ChunkStore.key(regionX, regionY);
+
+        RegionFile region = regions.get(key);
+        if (region != null) return region;
+
+        File file = new File(directory, "r." + regionX + "." + regionY + ".lsr");
+        if (!create && !file.exists()) return null;
+
+        if (regions.size >= MAX_OPEN_REGIONS) closeAll();
+        region = new RegionFile(file, seed);
+        if (region.getVersion() < RegionFile.VERSION) upgrade(region);
+        regions.put(key, region);
+        return region;
+    }
+
+    // Rewrites every payload of an older region file in the current format, so one file never
+    // mixes the two. Each delta is decoded in full before its sectors are reallocated.
+    private void upgrade(RegionFile region) {
+        int version = region.getVersion();
+        for (int localX = 0; localX < RegionFile.REGION_SIZE; localX++) {
+            for (int localY = 0; localY < RegionFile.REGION_SIZE; localY++) {
+                ByteBuffer data = region.read(localX, localY);
+                if (data == null) continue;
+                ChunkDelta delta = ChunkDelta.read(data, version);
+                delta.write(region.allocate(localX, localY, delta.encodedSize()));
+            }
+        }
+        region.setVersion(RegionFile.VERSION);
+    }
+
+    // Regrow times in the deltas are absolute game seconds, so the clock they were written
+    // against is saved with them. A new world, or one without a save directory, starts at 0.
+    public long loadClock() {
+        if (directory == null) return 0;
+        File file = new File(directory, CLOCK_FILE);
+        if (!file.exists()) return 0;
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            return in.readLong();
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't read world clock " + file, e);
+        }
+    }
+
+    public void saveClock(long second) {
+        if (directory == null) return;
+        File file = new File(directory, CLOCK_FILE);
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+            out.writeLong(second);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't write world clock " + file, e);
+        }
+    }
+
+    public void flush() {
+        for (RegionFile region : regions.values()) {
+            region.flush();
+        }
+    }
+
+    public void closeAll() {
+        for (RegionFile region : regions.values()) {
+            region.close();
+        }
+        regions.clear();
+    }
+
+    public boolean isPersistent() {
+        return directory != null;
+    }
+}
@@ -0,0 +1,142 @@
+package com.landsea.game.world;
+
+import com.badlogic.gdx.utils.LongMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Generates chunks on a small worker pool so sailing into new territory never stalls a frame.
+// Requests and publishing happen on the render thread; workers only build detached Chunk objects.
+public class ChunkGenerationPipeline {
+    private final IslandGenerator generator;
+    private final ThreadPoolExecutor executor;
+    private final ConcurrentLinkedQueue<ChunkTask> completed = new ConcurrentLinkedQueue<>();
+    private final LongMap<ChunkTask> pending = new LongMap<>(); // Render thread only
+    private final int maxPending;
+    private long sequence;
+    private int generatedCount;
+
+    private class ChunkTask implements Runnable, Comparable<ChunkTask> {
+        final int chunkX, chunkY;
+        final float priority; // Lower runs first
+        final long order;
+        volatile boolean cancelled;
+        Chunk result;
+
+        ChunkTask(int chunkX, int chunkY, float priority, long order) {
+            this.chunkX = chunkX;
+            this.chunkY = chunkY;
+            this.priority = priority;
+            this.order = order;
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) return;
+            Chunk chunk = new Chunk(chunkX, chunkY);
+            generator.generateChunk(chunk);
+            result = chunk;
+            // The concurrent queue hands the finished chunk to the render thread safely
+            completed.add(this);
+        }
+
+        @Override
+        public int compareTo(ChunkTask other) {
+            int c = Float.compare(priority, other.priority);
+            return c != 0 ? c : Long.compare(order, other.order);
+        }
+    }
+
+    public ChunkGenerationPipeline(IslandGenerator generator) {
+        this(generator, Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)), 64);
+    }
+
+    public ChunkGenerationPipeline(IslandGenerator generator, int workerCount, int maxPending) {
+        this.generator = generator;
+        this.maxPending = maxPending;
+        AtomicInteger threadId = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+            new PriorityBlockingQueue<>(), r -> {
+                Thread t = new Thread(r, "chunk-gen-" + threadId.incrementAndGet());
+                t.setDaemon(true);
+                t.setPriority(Thread.NORM_PRIORITY - 1);
+                return t;
+            });
+    }
+
+    // Queues a chunk for background generation. Returns false if the queue is full;
+    // the caller simply asks again next frame.
+    public boolean request(int chunkX, int chunkY, float priority) {
+        long key = ChunkStore.key(chunkX, chunkY);
+        if (pending.containsKey(key)) return true;
+        if (pending.size >= maxPending) return false;
+
+        ChunkTask task = new ChunkTask(chunkX, chunkY, priority, sequence++);
+        pending.put(key, task);
+        executor.execute(task);
+        return true;
+    }
+
+    public boolean isPending(int chunkX, int chunkY) {
+        return pending.containsKey(ChunkStore.key(chunkX, chunkY));
+    }
+
+    // Drops queued work for chunks the player has sailed away from
+    public void cancelOutside(int minX, int minY, int maxX, int maxY) {
+        LongMap.Keys keys = pending.keys();
+        while (keys.hasNext) {
+            long key = keys.next();
+            int x = ChunkStore.keyX(key);
+            int y = ChunkStore.keyY(key);
+            if (x < minX || x > maxX || y < minY || y > maxY) {
+                ChunkTask task = pending.get(key);
+                task.cancelled = true;
+                executor.remove(task);
+                keys.remove();
+            }
+        }
+    }
+
+    // Returns the next finished chunk, or null when nothing is ready. The chunk is fully built
+    // before it is handed over, so publishing it is a single put and readers never see a
+    // half-generated chunk.
+    public Chunk pollCompleted() {
+        ChunkTask task;
+        while ((task = completed.poll()) != null) {
+            long key = ChunkStore.key(task.chunkX, task.chunkY);
+            // Only accept the result if this task is still the one we are waiting on
+            if (pending.get(key) != task) continue;
+            pending.remove(key);
+            generatedCount++;
+            return task.result;
+        }
+        return null;
+    }
+
+    // Synchronous path for callers that cannot wait (e.g. startup spawn search)
+    public Chunk generateNow(int chunkX, int chunkY) {
+        ChunkTask task = pending.remove(ChunkStore.key(chunkX, chunkY));
+        if (task != null) {
+            task.cancelled = true;
+            executor.remove(task);
+        }
+        Chunk chunk = new Chunk(chunkX, chunkY);
+        generator.generateChunk(chunk);
+        generatedCount++;
+        return chunk;
+    }
+
+    public int getPendingCount() {
+        return pending.size;
+    }
+
+    public int getGeneratedCount() {
+        return generatedCount;
+    }
+
+    public void dispose() {
+        executor.shutdownNow();
+    }
+}
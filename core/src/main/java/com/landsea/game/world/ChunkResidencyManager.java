@@ -0,0 +1,77 @@
+package com.landsea.game.world;
+
+import com.badlogic.gdx.utils.Array;
+import java.util.Comparator;
+
+// Keeps the loaded chunk set within a memory budget. Chunks near the player are never touched;
+// beyond that hysteresis radius the least recently used chunks go first. Pristine chunks are
+// simply dropped, modified ones have their delta written back before being evicted.
+public class ChunkResidencyManager {
+    private static final Comparator<Chunk> LEAST_RECENT_FIRST =
+        (a, b) -> Long.compare(a.getLastAccess(), b.getLastAccess());
+
+    private long memoryBudgetBytes = 8L * 1024 * 1024; // A few thousand chunks at typical resource density
+    private int hysteresis = 2; // Extra chunks beyond the load radius that always stay resident
+    private final Array<Chunk> candidates = new Array<>(false, 64, Chunk.class);
+    private int evictedCount;
+    private int writtenBackCount;
+
+    public void setMemoryBudget(long bytes) {
+        this.memoryBudgetBytes = bytes;
+    }
+
+    public long getMemoryBudget() {
+        return memoryBudgetBytes;
+    }
+
+    public void setHysteresis(int chunks) {
+        this.hysteresis = chunks;
+    }
+
+    // Evicts chunks until the store fits the budget. Evicted chunks are appended to evictedOut
+    // so the world can release what it keeps for them. Returns the number of chunks evicted.
+    public int enforce(ChunkStore store, ChunkDeltaStore deltas, int centerX, int centerY, int loadRadius, Array<Chunk> evictedOut) {
+        long residentBytes = 0;
+        int keepRadius = loadRadius + hysteresis;
+        candidates.clear();
+
+        for (int i = 0, n = store.capacity(); i < n; i++) {
+            Chunk chunk = store.valueAt(i);
+            if (chunk == null) continue;
+            residentBytes += chunk.estimateMemoryBytes();
+            if (Math.abs(chunk.getChunkX() - centerX) > keepRadius || Math.abs(chunk.getChunkY() - centerY) > keepRadius) {
+                candidates.add(chunk);
+            }
+        }
+        if (residentBytes <= memoryBudgetBytes || candidates.size == 0) {
+            candidates.clear();
+            return 0;
+        }
+
+        candidates.sort(LEAST_RECENT_FIRST);
+
+        int evicted = 0;
+        for (int i = 0; i < candidates.size && residentBytes > memoryBudgetBytes; i++) {
+            Chunk chunk = candidates.get(i);
+            // Pristine chunks write nothing (and clear any stale delta)
+            if (deltas.writeBack(chunk)) {
+                writtenBackCount++;
+            }
+            store.remove(chunk.getChunkX(), chunk.getChunkY());
+            residentBytes -= chunk.estimateMemoryBytes();
+            evictedOut.add(chunk);
+            evicted++;
+        }
+        candidates.clear();
+        evictedCount += evicted;
+        return evicted;
+    }
+
+    public int getEvictedCount() {
+        return evictedCount;
+    }
+
+    public int getWrittenBackCount() {
+        return writtenBackCount;
+    }
+}
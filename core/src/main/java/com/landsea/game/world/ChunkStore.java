@@ -0,0 +1,152 @@
+package com.landsea.game.world;
+
+// Open-addressing chunk table keyed by the packed 64-bit chunk coordinate.
+// Lookups never box or build strings, so isLand() can be called freely from physics.
+public class ChunkStore {
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private Chunk[] values; // null marks an empty slot
+    private int size;
+    private int mask;
+    private int shift;
+    private int threshold;
+
+    public ChunkStore() {
+        this(64);
+    }
+
+    public ChunkStore(int initialCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(16, initialCapacity) - 1) << 1;
+        allocate(capacity);
+    }
+
+    // Packs chunk coordinates into a single key (x in the high word, y in the low word)
+    public static long key(int chunkX, int chunkY) {
+        return ((long) chunkX << 32) | (chunkY & 0xFFFFFFFFL);
+    }
+
+    public static int keyX(long key) {
+        return (int) (key >> 32);
+    }
+
+    public static int keyY(long key) {
+        return (int) key;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Chunk[capacity];
+        mask = capacity - 1;
+        shift = Long.numberOfLeadingZeros(mask);
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private int slot(long key) {
+        // Fibonacci hashing spreads neighbouring chunk coordinates across the table
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    public Chunk get(int chunkX, int chunkY) {
+        return get(key(chunkX, chunkY));
+    }
+
+    public Chunk get(long key) {
+        int i = slot(key);
+        Chunk chunk;
+        while ((chunk = values[i]) != null) {
+            if (keys[i] == key) return chunk;
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    public boolean contains(int chunkX, int chunkY) {
+        return get(key(chunkX, chunkY)) != null;
+    }
+
+    // Inserts or replaces the chunk at its own coordinates. Returns the previous chunk, if any.
+    public Chunk put(Chunk chunk) {
+        long key = key(chunk.getChunkX(), chunk.getChunkY());
+        int i = slot(key);
+        while (values[i] != null) {
+            if (keys[i] == key) {
+                Chunk old = values[i];
+                values[i] = chunk;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = chunk;
+        if (++size > threshold) resize(values.length << 1);
+        return null;
+    }
+
+    public Chunk remove(int chunkX, int chunkY) {
+        return remove(key(chunkX, chunkY));
+    }
+
+    public Chunk remove(long key) {
+        int i = slot(key);
+        while (values[i] != null) {
+            if (keys[i] == key) {
+                Chunk old = values[i];
+                shiftBack(i);
+                size--;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    // Backward-shift deletion keeps probe chains intact without tombstones
+    private void shiftBack(int hole) {
+        int i = (hole + 1) & mask;
+        while (values[i] != null) {
+            int home = slot(keys[i]);
+            // Move the entry into the hole if the hole lies between its home slot and its current slot
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                hole = i;
+            }
+            i = (i + 1) & mask;
+        }
+        values[hole] = null;
+    }
+
+    private void resize(int newCapacity) {
+        long[] oldKeys = keys;
+        Chunk[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            Chunk chunk = oldValues[i];
+            if (chunk == null) continue;
+            int j = slot(oldKeys[i]);
+            while (values[j] != null) j = (j + 1) & mask;
+            keys[j] = oldKeys[i];
+            values[j] = chunk;
+        }
+    }
+
+    public void clear() {
+        java.util.Arrays.fill(values, null);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Raw slot access for allocation-free iteration:
+    // for (int i = 0; i < store.capacity(); i++) { Chunk c = store.valueAt(i); if (c == null) continue; ... }
+    public int capacity() {
+        return values.length;
+    }
+
+    public Chunk valueAt(int index) {
+        return values[index];
+    }
+}
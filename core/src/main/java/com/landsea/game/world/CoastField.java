@@ -0,0 +1,8 @@
+package com.landsea.game.world;
+
+// Signed distance to the nearest coastline, in pixels, positive over water. This is all the boat
+// physics needs from the world, so vessels can be stepped against either the live WorldManager
+// or a WorldSnapshot shared between threads.
+public interface CoastField {
+    float sampleCoastDistance(float worldX, float worldY);
+}
@@ -4,8 +4,86 @@ import java.util.Random;
 import com.landsea.game.entities.ResourceNode;
 
 public class IslandGenerator {
+    private static final float SCALE = 0.05f; // Zoom level for noise
+    private static final float MOISTURE_SCALE = 0.02f; // Larger biomes
+    private static final float CLUSTER_SCALE = 0.005f; // Very low frequency for archipelagos
+    
+    // java.util.Random's LCG, used to reproduce new Random(tileSeed).nextFloat() without the allocation
+    private static final long LCG_MULTIPLIER = 0x5DEECE66DL;
+    private static final long LCG_ADDEND = 0xBL;
+    private static final long LCG_MASK = (1L << 48) - 1;
+    // Multiplier/addend that jump the LCG two steps at once (for the second draw on a tile)
+    private static final long LCG_MULTIPLIER_2 = (LCG_MULTIPLIER * LCG_MULTIPLIER) & LCG_MASK;
+    private static final long LCG_ADDEND_2 = (LCG_MULTIPLIER * LCG_ADDEND + LCG_ADDEND) & LCG_MASK;
+    
     private long seed;
     private int[] permutation;
+    
+    // Per-thread scratch for bulk evaluation (chunks are generated on several workers at once)
+    private final ThreadLocal<FieldScratch> scratch = ThreadLocal.withInitial(FieldScratch::new);
+    
+    // Lattice data for one noise octave along one axis, computed once per column/row
+    // instead of once per sample
+    private static class NoiseAxis {
+        int[] lattice = new int[0]; // floor(coord) & 255
+        double[] frac = new double[0]; // coord - floor(coord)
+        double[] fade = new double[0];
+        
+        void ensure(int n) {
+            if (lattice.length < n) {
+                lattice = new int[n];
+                frac = new double[n];
+                fade = new double[n];
+            }
+        }
+    }
+    
+    private static class FieldScratch {
+        final NoiseAxis[] xAxes = { new NoiseAxis(), new NoiseAxis(), new NoiseAxis(), new NoiseAxis() };
+        final NoiseAxis[] yAxes = { new NoiseAxis(), new NoiseAxis(), new NoiseAxis(), new NoiseAxis() };
+        // Heights for the chunk plus an apron wide enough to measure coast distances at its edge
+        float[] heights = new float[PADDED_SIZE * PADDED_SIZE];
+        float[] moisture = new float[Chunk.CHUNK_SIZE * Chunk.CHUNK_SIZE];
+    }
+    
+    // Coast samples reach one tile past the chunk and look COAST_RANGE_TILES further out
+    private static final int APRON = Chunk.COAST_RANGE_TILES + 1;
+    private static final int PADDED_SIZE = Chunk.CHUNK_SIZE + APRON * 2;
+    // Neighbour tile offsets (dx, dy, distance in 1/8 tiles) within the coast range, nearest first,
+    // so the first tile of the other kind found is the closest one
+    private static final int[] COAST_OFFSETS = buildCoastOffsets();
+    
+    private static int[] buildCoastOffsets() {
+        int range = Chunk.COAST_RANGE_TILES;
+        int side = range * 2 + 1;
+        long[] packed = new long[side * side];
+        int n = 0;
+        for (int dx = -range; dx <= range; dx++) {
+            for (int dy = -range; dy <= range; dy++) {
+                int units = coastUnits(dx, dy);
+                packed[n++] = ((long) units << 32) | ((dx + range) << 16) | (dy + range);
+            }
+        }
+        java.util.Arrays.sort(packed);
+        int[] offsets = new int[n * 3];
+        for (int i = 0; i < n; i++) {
+            offsets[i * 3] = (int) ((packed[i] >> 16) & 0xFFFF) - range;
+            offsets[i * 3 + 1] = (int) (packed[i] & 0xFFFF) - range;
+            offsets[i * 3 + 2] = (int) (packed[i] >> 32);
+        }
+        return offsets;
+    }
+    
+    // Distance from a tile centre to the nearest edge of the tile (dx, dy) away, in 1/8 tiles
+    private static int coastUnits(int dx, int dy) {
+        float ex = Math.max(0, Math.abs(dx) - 0.5f);
+        float ey = Math.max(0, Math.abs(dy) - 0.5f);
+        int units = Math.round((float) Math.sqrt(ex * ex + ey * ey) * 8f);
+        return Math.min(units, Chunk.COAST_RANGE_TILES * 8);
+    }
+    
+    // Octave indices into the scratch axes
+    private static final int CLUSTER = 0, BASE = 1, DETAIL = 2, MOISTURE = 3;
 
     public IslandGenerator(long seed) {
         this.seed = seed;
@@ -67,44 +145,183 @@ public class IslandGenerator {
                 lerp(u, grad(permutation[AB], x, y - 1), grad(permutation[BB], x - 1, y - 1)));
     }
 
-    public void generateChunk(Chunk chunk) {
-        int cx = chunk.getChunkX();
-        int cy = chunk.getChunkY();
+    // Archipelago-scale noise at a world tile position, roughly -1..1; low values are open sea.
+    // One noise call, so it can be sampled far and wide without building chunks.
+    public double clusterNoise(float tileX, float tileY) {
+        return noise(tileX * CLUSTER_SCALE, tileY * CLUSTER_SCALE);
+    }
+    
+    // Height of a single world tile without generating its chunk. Same formula and float/double
+    // widening as fillFields, so it agrees exactly with the height the chunk would store.
+    public float sampleHeight(int tileX, int tileY) {
+        float worldX = tileX;
+        float worldY = tileY;
+        double clusterN = noise(worldX * CLUSTER_SCALE, worldY * CLUSTER_SCALE);
+        double n = noise(worldX * SCALE, worldY * SCALE);
+        float h = (float) (n + 1.0) / 2.0f;
+        double n2 = noise(worldX * SCALE * 2.0, worldY * SCALE * 2.0);
+        h += (float) (n2 * 0.5) / 2.0f;
+        h += (float)clusterN * 0.4f;
+        if (h < 0) h = 0;
+        if (h > 1) h = 1;
+        return h;
+    }
+    
+    // Bulk version of the per-tile height/moisture formula. Fills width x height tiles starting at
+    // world tile (originX, originY), indexed x * height + y. Floors, fades and the first level of
+    // permutation lookups are hoisted out to once per column and once per row; the arithmetic per
+    // sample is unchanged, so the result is bit-identical to evaluating noise() tile by tile.
+    // Either output may be null to skip that field.
+    public void fillFields(int originX, int originY, int width, int height, float[] heightOut, float[] moistureOut) {
+        FieldScratch s = scratch.get();
+        prepareAxes(s.xAxes, originX, width);
+        prepareAxes(s.yAxes, originY, height);
         
-        float scale = 0.05f; // Zoom level for noise
-        float moistureScale = 0.02f; // Larger biomes
-        float clusterScale = 0.005f; // Very low frequency for archipelagos
-
-        for (int x = 0; x < Chunk.CHUNK_SIZE; x++) {
-            for (int y = 0; y < Chunk.CHUNK_SIZE; y++) {
-                float worldX = cx * Chunk.CHUNK_SIZE + x;
-                float worldY = cy * Chunk.CHUNK_SIZE + y;
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                if (moistureOut != null) {
+                    double m = noise(s.xAxes[MOISTURE], x, s.yAxes[MOISTURE], y);
+                    moistureOut[x * height + y] = (float) (m + 1.0) / 2.0f;
+                }
+                if (heightOut == null) continue;
                 
                 // Archipelago Mask
-                double clusterN = noise(worldX * clusterScale, worldY * clusterScale);
+                double clusterN = noise(s.xAxes[CLUSTER], x, s.yAxes[CLUSTER], y);
                 
-                double n = noise(worldX * scale, worldY * scale);
+                double n = noise(s.xAxes[BASE], x, s.yAxes[BASE], y);
                 
                 // Normalize noise to 0-1 roughly (Perlin is usually -1 to 1)
-                float height = (float) (n + 1.0) / 2.0f;
+                float h = (float) (n + 1.0) / 2.0f;
                 
                 // Add some detail with higher frequency noise (Octaves)
-                double n2 = noise(worldX * scale * 2.0, worldY * scale * 2.0);
-                height += (float) (n2 * 0.5) / 2.0f;
+                double n2 = noise(s.xAxes[DETAIL], x, s.yAxes[DETAIL], y);
+                h += (float) (n2 * 0.5) / 2.0f;
                 
                 // Apply Archipelago Clustering
                 // Raise terrain in clusters, lower it in gaps
-                height += (float)clusterN * 0.4f;
+                h += (float)clusterN * 0.4f;
                 
                 // Clamp
-                if (height < 0) height = 0;
-                if (height > 1) height = 1;
+                if (h < 0) h = 0;
+                if (h > 1) h = 1;
+                heightOut[x * height + y] = h;
+            }
+        }
+    }
+    
+    // Computes the noise input coordinate of every column (or row) for each octave, exactly as the
+    // per-tile formula does (float products widened to double, +500 offset for moisture)
+    private void prepareAxes(NoiseAxis[] axes, int origin, int count) {
+        for (NoiseAxis axis : axes) axis.ensure(count);
+        for (int i = 0; i < count; i++) {
+            float world = origin + i;
+            setAxis(axes[CLUSTER], i, world * CLUSTER_SCALE);
+            setAxis(axes[BASE], i, world * SCALE);
+            setAxis(axes[DETAIL], i, world * SCALE * 2.0);
+            setAxis(axes[MOISTURE], i, world * MOISTURE_SCALE + 500); // Offset for moisture
+        }
+    }
+    
+    private void setAxis(NoiseAxis axis, int i, double coord) {
+        double floor = Math.floor(coord);
+        axis.lattice[i] = (int) floor & 255;
+        axis.frac[i] = coord - floor;
+        axis.fade[i] = fade(axis.frac[i]);
+    }
+    
+    // Same as noise(x, y) with the per-axis work already done
+    private double noise(NoiseAxis ax, int i, NoiseAxis ay, int j) {
+        int X = ax.lattice[i];
+        int Y = ay.lattice[j];
+        double x = ax.frac[i];
+        double y = ay.frac[j];
+        double u = ax.fade[i];
+        double v = ay.fade[j];
+        
+        int A = permutation[X] + Y;
+        int AA = permutation[A];
+        int AB = permutation[A + 1];
+        int B = permutation[X + 1] + Y;
+        int BA = permutation[B];
+        int BB = permutation[B + 1];
+
+        return lerp(v, lerp(u, grad(permutation[AA], x, y), grad(permutation[BA], x - 1, y)),
+                lerp(u, grad(permutation[AB], x, y - 1), grad(permutation[BB], x - 1, y - 1)));
+    }
+    
+    // Counter-based equivalent of new Random(tileSeed) followed by draw + 1 calls to nextFloat():
+    // a pure function of (tileSeed, draw), so no Random is allocated per land tile. Draws 0 and 1
+    // use precomputed steps; later ones jump the LCG ahead by squaring.
+    static float tileRandom(long tileSeed, int draw) {
+        if (draw < 0) throw new IllegalArgumentException("Draw must be at least 0: " + draw);
+        long state = (tileSeed ^ LCG_MULTIPLIER) & LCG_MASK;
+        if (draw == 0) {
+            state = (state * LCG_MULTIPLIER + LCG_ADDEND) & LCG_MASK;
+        } else if (draw == 1) {
+            state = (state * LCG_MULTIPLIER_2 + LCG_ADDEND_2) & LCG_MASK;
+        } else {
+            // Compose the one-step map with itself: after k steps it's state * mul + add
+            long mul = LCG_MULTIPLIER, add = LCG_ADDEND;
+            long jumpMul = 1, jumpAdd = 0;
+            for (int steps = draw + 1; steps > 0; steps >>>= 1) {
+                if ((steps & 1) != 0) {
+                    jumpMul *= mul;
+                    jumpAdd = jumpAdd * mul + add;
+                }
+                add *= mul + 1;
+                mul *= mul;
+            }
+            state = (state * jumpMul + jumpAdd) & LCG_MASK;
+        }
+        return (int) (state >>> (48 - 24)) / ((float) (1 << 24));
+    }
+
+    // Signed distance from each coast sample (tile centres, one tile past the chunk edge) to the
+    // nearest tile of the other kind, measured to that tile's edge: water samples get the distance
+    // to land, land samples minus the distance to water
+    private void computeCoastDistances(Chunk chunk, float[] heights) {
+        int maxUnits = Chunk.COAST_RANGE_TILES * 8;
+        for (int gx = 0; gx < Chunk.COAST_GRID; gx++) {
+            for (int gy = 0; gy < Chunk.COAST_GRID; gy++) {
+                // Padded index of the tile this sample sits on
+                int px = gx - 1 + APRON;
+                int py = gy - 1 + APRON;
+                boolean land = heights[px * PADDED_SIZE + py] > Chunk.WATER_LEVEL;
+                
+                int units = maxUnits;
+                for (int i = 0; i < COAST_OFFSETS.length; i += 3) {
+                    int qx = px + COAST_OFFSETS[i];
+                    int qy = py + COAST_OFFSETS[i + 1];
+                    if ((heights[qx * PADDED_SIZE + qy] > Chunk.WATER_LEVEL) != land) {
+                        units = COAST_OFFSETS[i + 2];
+                        break;
+                    }
+                }
+                chunk.setCoastDistance(gx, gy, (byte) (land ? -units : units));
+            }
+        }
+    }
+
+    public void generateChunk(Chunk chunk) {
+        int cx = chunk.getChunkX();
+        int cy = chunk.getChunkY();
+        
+        FieldScratch s = scratch.get();
+        // Heights over the chunk and its apron, moisture only where biomes are needed
+        fillFields(cx * Chunk.CHUNK_SIZE - APRON, cy * Chunk.CHUNK_SIZE - APRON, PADDED_SIZE, PADDED_SIZE, s.heights, null);
+        fillFields(cx * Chunk.CHUNK_SIZE, cy * Chunk.CHUNK_SIZE, Chunk.CHUNK_SIZE, Chunk.CHUNK_SIZE, null, s.moisture);
+        computeCoastDistances(chunk, s.heights);
+
+        for (int x = 0; x < Chunk.CHUNK_SIZE; x++) {
+            for (int y = 0; y < Chunk.CHUNK_SIZE; y++) {
+                float worldX = cx * Chunk.CHUNK_SIZE + x;
+                float worldY = cy * Chunk.CHUNK_SIZE + y;
                 
+                float height = s.heights[(x + APRON) * PADDED_SIZE + y + APRON];
                 chunk.setHeight(x, y, height);
                 
                 // Biome Generation
-                double m = noise(worldX * moistureScale + 500, worldY * moistureScale + 500); // Offset for moisture
-                float moisture = (float) (m + 1.0) / 2.0f;
+                float moisture = s.moisture[x * Chunk.CHUNK_SIZE + y];
                 
                 Biome biome = Biome.OCEAN;
                 if (height > 0.5f) {
@@ -128,36 +345,37 @@ public class IslandGenerator {
                 if (height > 0.5f) { // Land
                     // Deterministic random for this tile
                     long tileSeed = (long)(worldX * 31 + worldY * 17) + seed;
-                    Random tileRand = new Random(tileSeed);
                     
                     float worldPixelX = (cx * Chunk.CHUNK_SIZE + x) * Chunk.TILE_SIZE + Chunk.TILE_SIZE / 2;
                     float worldPixelY = (cy * Chunk.CHUNK_SIZE + y) * Chunk.TILE_SIZE + Chunk.TILE_SIZE / 2;
                     
                     if (biome == Biome.TROPICAL) {
-                        if (tileRand.nextFloat() < 0.05f) { // Coconut Palm
-                            chunk.addResourceNode(new ResourceNode(worldPixelX, worldPixelY, ResourceNode.Type.PALM_TREE));
+                        if (tileRandom(tileSeed, 0) < 0.05f) { // Coconut Palm
+                            chunk.addResource(worldPixelX, worldPixelY, ResourceNode.Type.PALM_TREE);
                         }
                     } else if (biome == Biome.GRASSLAND) {
-                        if (tileRand.nextFloat() < 0.02f) {
-                            chunk.addResourceNode(new ResourceNode(worldPixelX, worldPixelY, ResourceNode.Type.BERRY_BUSH));
+                        if (tileRandom(tileSeed, 0) < 0.02f) {
+                            chunk.addResource(worldPixelX, worldPixelY, ResourceNode.Type.BERRY_BUSH);
                         }
                     } else if (biome == Biome.JUNGLE) {
-                        if (tileRand.nextFloat() < 0.15f) { // Dense trees
-                            chunk.addResourceNode(new ResourceNode(worldPixelX, worldPixelY, ResourceNode.Type.MAHOGANY));
-                        } else if (tileRand.nextFloat() < 0.1f) {
-                            chunk.addResourceNode(new ResourceNode(worldPixelX, worldPixelY, ResourceNode.Type.BUSH));
+                        if (tileRandom(tileSeed, 0) < 0.15f) { // Dense trees
+                            chunk.addResource(worldPixelX, worldPixelY, ResourceNode.Type.MAHOGANY);
+                        } else if (tileRandom(tileSeed, 1) < 0.1f) {
+                            chunk.addResource(worldPixelX, worldPixelY, ResourceNode.Type.BUSH);
                         }
                     } else if (biome == Biome.SWAMP) {
-                        if (tileRand.nextFloat() < 0.05f) {
-                            chunk.addResourceNode(new ResourceNode(worldPixelX, worldPixelY, ResourceNode.Type.MANGROVE)); // Mangrove
+                        if (tileRandom(tileSeed, 0) < 0.05f) {
+                            chunk.addResource(worldPixelX, worldPixelY, ResourceNode.Type.MANGROVE); // Mangrove
                         }
                     } else if (biome == Biome.ROCKY) {
-                        if (tileRand.nextFloat() < 0.05f) {
-                            chunk.addResourceNode(new ResourceNode(worldPixelX, worldPixelY, ResourceNode.Type.ROCK));
+                        if (tileRandom(tileSeed, 0) < 0.05f) {
+                            chunk.addResource(worldPixelX, worldPixelY, ResourceNode.Type.ROCK);
                         }
                     }
                 }
             }
         }
+        
+        chunk.markGenerated();
     }
 }
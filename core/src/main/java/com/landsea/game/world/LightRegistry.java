@@ -0,0 +1,118 @@
+package com.landsea.game.world;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.utils.LongMap;
+
+// Every light emitter in the loaded world (campfires today, glow-moss and lanterns later),
+// bucketed by chunk so the night pass only ever touches actual lights in view.
+public class LightRegistry {
+    public interface LightVisitor {
+        void visit(float x, float y, float radius, Color color);
+    }
+
+    // Emitters of one chunk as parallel arrays; removal swaps the last entry in. An emitter is
+    // identified by its owner plus an id within it (e.g. a ResourceStore and a node index).
+    private static class Cell {
+        Object[] owners = new Object[4];
+        int[] ids = new int[4];
+        float[] x = new float[4];
+        float[] y = new float[4];
+        float[] radius = new float[4];
+        Color[] color = new Color[4];
+        int size;
+
+        void add(Object owner, int id, float px, float py, float r, Color c) {
+            if (size == owners.length) grow();
+            owners[size] = owner;
+            ids[size] = id;
+            x[size] = px;
+            y[size] = py;
+            radius[size] = r;
+            color[size] = c;
+            size++;
+        }
+
+        boolean remove(Object owner, int id) {
+            for (int i = 0; i < size; i++) {
+                if (owners[i] == owner && ids[i] == id) {
+                    int last = --size;
+                    owners[i] = owners[last];
+                    ids[i] = ids[last];
+                    x[i] = x[last];
+                    y[i] = y[last];
+                    radius[i] = radius[last];
+                    color[i] = color[last];
+                    owners[last] = null;
+                    color[last] = null;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void grow() {
+            int n = owners.length * 2;
+            owners = java.util.Arrays.copyOf(owners, n);
+            ids = java.util.Arrays.copyOf(ids, n);
+            x = java.util.Arrays.copyOf(x, n);
+            y = java.util.Arrays.copyOf(y, n);
+            radius = java.util.Arrays.copyOf(radius, n);
+            color = java.util.Arrays.copyOf(color, n);
+        }
+    }
+
+    private final LongMap<Cell> cells = new LongMap<>();
+    private float maxRadius;
+    private int count;
+
+    public void add(Object owner, int id, float x, float y, float radius, Color color) {
+        long key = ChunkStore.key(WorldManager.toChunkCoord(x), WorldManager.toChunkCoord(y));
+        Cell cell = cells.get(key);
+        if (cell == null) {
+            cell = new Cell();
+            cells.put(key, cell);
+        }
+        cell.add(owner, id, x, y, radius, color);
+        maxRadius = Math.max(maxRadius, radius);
+        count++;
+    }
+
+    // x/y are the position the emitter was registered at
+    public boolean remove(Object owner, int id, float x, float y) {
+        Cell cell = cells.get(ChunkStore.key(WorldManager.toChunkCoord(x), WorldManager.toChunkCoord(y)));
+        if (cell != null && cell.remove(owner, id)) {
+            count--;
+            return true;
+        }
+        return false;
+    }
+
+    // Drops every emitter of an unloaded chunk
+    public void removeChunk(int chunkX, int chunkY) {
+        Cell cell = cells.remove(ChunkStore.key(chunkX, chunkY));
+        if (cell != null) count -= cell.size;
+    }
+
+    // Visits emitters whose light reaches into the rectangle
+    public void query(float minX, float minY, float maxX, float maxY, LightVisitor visitor) {
+        if (count == 0) return;
+        int minChunkX = WorldManager.toChunkCoord(minX - maxRadius), maxChunkX = WorldManager.toChunkCoord(maxX + maxRadius);
+        int minChunkY = WorldManager.toChunkCoord(minY - maxRadius), maxChunkY = WorldManager.toChunkCoord(maxY + maxRadius);
+
+        for (int cx = minChunkX; cx <= maxChunkX; cx++) {
+            for (int cy = minChunkY; cy <= maxChunkY; cy++) {
+                Cell cell = cells.get(ChunkStore.key(cx, cy));
+                if (cell == null) continue;
+                for (int i = 0; i < cell.size; i++) {
+                    float x = cell.x[i], y = cell.y[i], r = cell.radius[i];
+                    if (x + r < minX || x - r > maxX || y + r < minY || y - r > maxY) continue;
+                    visitor.visit(x, y, r, cell.color[i]);
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+}
@@ -0,0 +1,104 @@
+package com.landsea.game.world;
+
+import com.badlogic.gdx.utils.LongMap;
+
+// Coarse map of how far each patch of sea is from likely land, built straight from the
+// archipelago (cluster) noise instead of from generated chunks. Cells are CELL_TILES tiles
+// across; a cell counts as shore when its cluster noise is above SHORE_LEVEL, and its distance
+// is the Chebyshev distance in cells to the nearest shore cell, capped at MAX_DISTANCE.
+// Everything is computed on demand in 16x16-cell blocks and cached.
+//
+// The field only ranks candidates: the detail octaves can still raise small islands in deep
+// water, so callers must confirm a spot with exact height samples.
+public class OceanDistanceField {
+    public static final int CELL_TILES = 8;
+    public static final float CELL_PIXELS = CELL_TILES * Chunk.TILE_SIZE;
+    public static final int MAX_DISTANCE = 6;
+    // Below this cluster value whole regions are mostly water; above it islands are almost certain
+    private static final double SHORE_LEVEL = -0.3;
+
+    private static final int BLOCK_SHIFT = 4;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+
+    private final IslandGenerator generator;
+    private final LongMap<Block> blocks = new LongMap<>();
+
+    private static class Block {
+        final boolean[] shore = new boolean[BLOCK_SIZE * BLOCK_SIZE];
+        final byte[] distance = new byte[BLOCK_SIZE * BLOCK_SIZE]; // -1 = not computed yet
+
+        Block() {
+            java.util.Arrays.fill(distance, (byte) -1);
+        }
+    }
+
+    public OceanDistanceField(IslandGenerator generator) {
+        this.generator = generator;
+    }
+
+    // World pixel coordinate -> cell coordinate
+    public static int toCell(float world) {
+        return (int) Math.floor(world / CELL_PIXELS);
+    }
+
+    // World pixel coordinate of a cell's centre
+    public static float cellCenter(int cell) {
+        return (cell + 0.5f) * CELL_PIXELS;
+    }
+
+    private Block block(int cellX, int cellY) {
+        int blockX = cellX >> BLOCK_SHIFT;
+        int blockY = cellY >> BLOCK_SHIFT;
+        long key = ChunkStore.key(blockX, blockY);
+        Block block = blocks.get(key);
+        if (block == null) {
+            block = new Block();
+            float tileX0 = (blockX << BLOCK_SHIFT) * CELL_TILES + CELL_TILES / 2f;
+            float tileY0 = (blockY << BLOCK_SHIFT) * CELL_TILES + CELL_TILES / 2f;
+            for (int x = 0; x < BLOCK_SIZE; x++) {
+                for (int y = 0; y < BLOCK_SIZE; y++) {
+                    double cluster = generator.clusterNoise(tileX0 + x * CELL_TILES, tileY0 + y * CELL_TILES);
+                    block.shore[x * BLOCK_SIZE + y] = cluster >= SHORE_LEVEL;
+                }
+            }
+            blocks.put(key, block);
+        }
+        return block;
+    }
+
+    private static int index(int cellX, int cellY) {
+        return (cellX & BLOCK_MASK) * BLOCK_SIZE + (cellY & BLOCK_MASK);
+    }
+
+    public boolean isShore(int cellX, int cellY) {
+        return block(cellX, cellY).shore[index(cellX, cellY)];
+    }
+
+    // Cells to the nearest shore cell (0 for shore itself), capped at MAX_DISTANCE
+    public int distance(int cellX, int cellY) {
+        Block block = block(cellX, cellY);
+        int i = index(cellX, cellY);
+        if (block.distance[i] < 0) {
+            block.distance[i] = (byte) computeDistance(cellX, cellY);
+        }
+        return block.distance[i];
+    }
+
+    // Grows square rings until one touches shore; cheap because the rings stop early almost everywhere
+    private int computeDistance(int cellX, int cellY) {
+        for (int r = 0; r < MAX_DISTANCE; r++) {
+            for (int x = cellX - r; x <= cellX + r; x++) {
+                int step = (x == cellX - r || x == cellX + r) ? 1 : 2 * r;
+                for (int y = cellY - r; y <= cellY + r; y += step) {
+                    if (isShore(x, y)) return r;
+                }
+            }
+        }
+        return MAX_DISTANCE;
+    }
+
+    public int getBlockCount() {
+        return blocks.size;
+    }
+}
@@ -0,0 +1,187 @@
+package com.landsea.game.world;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.BitSet;
+
+// A memory-mapped file holding the saved deltas of a 32x32 block of chunks.
+//
+// Layout (256-byte sectors):
+//   sector 0      magic, version, world seed
+//   sectors 1-16  allocation table, one int per chunk: (first sector << 8) | sector count
+//   sectors 17+   payloads, each an int length followed by the encoded ChunkDelta
+public class RegionFile {
+    public static final int REGION_SIZE = 32; // Chunks per region axis
+    public static final int SECTOR_BYTES = 256;
+
+    private static final int MAGIC = 0x4C535247; // "LSRG"
+    public static final int VERSION = 2; // 2: deltas carry regrow times
+    private static final int TABLE_OFFSET = SECTOR_BYTES;
+    private static final int HEADER_SECTORS = 1 + (REGION_SIZE * REGION_SIZE * 4) / SECTOR_BYTES;
+    private static final int MAX_SECTORS_PER_CHUNK = 255;
+    private static final int GROW_SECTORS = 64; // Grow the file in steps to avoid remapping on every write
+
+    private final File file;
+    private final RandomAccessFile raf;
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int sectorCount;
+    private final BitSet usedSectors = new BitSet();
+    private boolean dirty;
+
+    public RegionFile(File file, long seed) {
+        this.file = file;
+        try {
+            boolean fresh = !file.exists() || file.length() < (long) HEADER_SECTORS * SECTOR_BYTES;
+            raf = new RandomAccessFile(file, "rw");
+            channel = raf.getChannel();
+            if (fresh) {
+                map(HEADER_SECTORS + GROW_SECTORS);
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                buffer.putLong(8, seed);
+                dirty = true;
+            } else {
+                map((int) (file.length() / SECTOR_BYTES));
+                if (buffer.getInt(0) != MAGIC) {
+                    throw new GdxRuntimeException("Not a region file: " + file);
+                }
+                int version = buffer.getInt(4);
+                if (version < 1 || version > VERSION) {
+                    throw new GdxRuntimeException("Region file " + file + " is version " + version + ", expected at most " + VERSION);
+                }
+                if (buffer.getLong(8) != seed) {
+                    throw new GdxRuntimeException("Region file " + file + " belongs to a different world seed");
+                }
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't open region file " + file, e);
+        }
+
+        usedSectors.set(0, HEADER_SECTORS);
+        for (int i = 0; i < REGION_SIZE * REGION_SIZE; i++) {
+            int entry = tableEntry(i);
+            if (entry != 0) usedSectors.set(entry >>> 8, (entry >>> 8) + (entry & 0xFF));
+        }
+    }
+
+    private void map(int sectors) throws IOException {
+        if (buffer != null) buffer.force();
+        sectorCount = sectors;
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) sectors * SECTOR_BYTES);
+    }
+
+    private static int index(int localX, int localY) {
+        return localX + localY * REGION_SIZE;
+    }
+
+    private int tableEntry(int index) {
+        return buffer.getInt(TABLE_OFFSET + index * 4);
+    }
+
+    // Older files still hold payloads in their own format until ChunkDeltaStore upgrades them
+    public int getVersion() {
+        return buffer.getInt(4);
+    }
+
+    public void setVersion(int version) {
+        buffer.putInt(4, version);
+        dirty = true;
+    }
+
+    public boolean has(int localX, int localY) {
+        return tableEntry(index(localX, localY)) != 0;
+    }
+
+    // Returns a view of the stored payload straight out of the mapping (no copy), or null
+    public ByteBuffer read(int localX, int localY) {
+        int entry = tableEntry(index(localX, localY));
+        if (entry == 0) return null;
+        int offset = (entry >>> 8) * SECTOR_BYTES;
+        int length = buffer.getInt(offset);
+
+        ByteBuffer view = buffer.duplicate();
+        view.limit(offset + 4 + length).position(offset + 4);
+        return view.slice();
+    }
+
+    // Reserves room for a payload of the given size and returns a buffer to encode it into
+    public ByteBuffer allocate(int localX, int localY, int length) {
+        int index = index(localX, localY);
+        int needed = (length + 4 + SECTOR_BYTES - 1) / SECTOR_BYTES;
+        if (needed > MAX_SECTORS_PER_CHUNK) {
+            throw new GdxRuntimeException("Chunk delta too large for region file: " + length + " bytes");
+        }
+
+        int entry = tableEntry(index);
+        int start = entry >>> 8;
+        int count = entry & 0xFF;
+
+        if (entry == 0 || count < needed) {
+            if (entry != 0) usedSectors.clear(start, start + count);
+            start = findFreeRun(needed);
+            usedSectors.set(start, start + needed);
+        } else if (count > needed) {
+            // Shrink in place and give the tail back
+            usedSectors.clear(start + needed, start + count);
+        }
+
+        try {
+            if (start + needed > sectorCount) {
+                map(start + needed + GROW_SECTORS);
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't grow region file " + file, e);
+        }
+
+        buffer.putInt(TABLE_OFFSET + index * 4, (start << 8) | needed);
+        int offset = start * SECTOR_BYTES;
+        buffer.putInt(offset, length);
+        dirty = true;
+
+        ByteBuffer view = buffer.duplicate();
+        view.limit(offset + 4 + length).position(offset + 4);
+        return view.slice();
+    }
+
+    public void delete(int localX, int localY) {
+        int index = index(localX, localY);
+        int entry = tableEntry(index);
+        if (entry == 0) return;
+        usedSectors.clear(entry >>> 8, (entry >>> 8) + (entry & 0xFF));
+        buffer.putInt(TABLE_OFFSET + index * 4, 0);
+        dirty = true;
+    }
+
+    // First fit over the free sector map
+    private int findFreeRun(int needed) {
+        int start = usedSectors.nextClearBit(HEADER_SECTORS);
+        while (true) {
+            int nextUsed = usedSectors.nextSetBit(start);
+            if (nextUsed < 0 || nextUsed - start >= needed) return start;
+            start = usedSectors.nextClearBit(nextUsed);
+        }
+    }
+
+    public void flush() {
+        if (dirty) {
+            buffer.force();
+            dirty = false;
+        }
+    }
+
+    public void close() {
+        flush();
+        try {
+            channel.close();
+            raf.close();
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't close region file " + file, e);
+        }
+    }
+}
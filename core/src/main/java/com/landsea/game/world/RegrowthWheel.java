@@ -0,0 +1,129 @@
+package com.landsea.game.world;
+
+import java.util.Arrays;
+
+// Pending resource regrowths, as a hierarchical timing wheel over whole seconds of game time.
+//
+// Four levels of 64 slots. Level 0 holds entries due within the current 64-second block, one slot
+// per second; level L holds entries that first differ from the current time in bits 6L..6L+5,
+// one slot per 64^L seconds. When the clock crosses a level-L slot boundary, that slot's entries
+// are re-placed one level down, so every entry moves at most three times before it fires.
+// Scheduling and firing are O(1) each, and a tick only touches the slots it crosses, however
+// many regrowths are waiting. Beyond 64^4 seconds (~194 days) entries park in the top level
+// and get re-placed each time it comes round.
+//
+// Entries are pooled in parallel arrays with a free list; slots are intrusive linked lists.
+public class RegrowthWheel {
+    public interface Listener {
+        // chunkKey and index are what was scheduled; due is the tick it was scheduled for
+        void expire(long chunkKey, int index, long due);
+    }
+
+    private static final int LEVELS = 4;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private final int[] heads = new int[LEVELS * SLOTS];
+    private long[] keys = new long[64];
+    private long[] due = new long[64];
+    private int[] indices = new int[64];
+    private int[] next = new int[64];
+    private int free = -1; // Head of the free entry list
+    private int used; // Entries ever handed out; the pool beyond this is untouched
+    private int size;
+    private long tick; // Current time; every tick up to here has fired
+
+    public RegrowthWheel() {
+        this(0);
+    }
+
+    // Starts the clock at a saved time; every tick up to it counts as already fired
+    public RegrowthWheel(long startTick) {
+        Arrays.fill(heads, -1);
+        tick = startTick;
+    }
+
+    // Anything due now or in the past fires on the next tick
+    public void schedule(long chunkKey, int index, long dueTick) {
+        int e;
+        if (free != -1) {
+            e = free;
+            free = next[e];
+        } else {
+            if (used == keys.length) grow();
+            e = used++;
+        }
+        keys[e] = chunkKey;
+        indices[e] = index;
+        due[e] = Math.max(dueTick, tick + 1);
+        place(e);
+        size++;
+    }
+
+    // Moves the clock forward, firing everything that comes due on the way
+    public void advance(long now, Listener listener) {
+        while (tick < now) {
+            tick++;
+            // Bring down any higher-level slot whose block starts at this tick
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((tick & ((1L << (level * SLOT_BITS)) - 1)) == 0) {
+                    cascade(level, (int) (tick >>> (level * SLOT_BITS)) & SLOT_MASK);
+                }
+            }
+            fire((int) tick & SLOT_MASK, listener);
+        }
+    }
+
+    private void place(int e) {
+        long d = due[e];
+        long differ = d ^ tick;
+        int level = differ < SLOTS ? 0 : Math.min(LEVELS - 1, (63 - Long.numberOfLeadingZeros(differ)) / SLOT_BITS);
+        int slot = level * SLOTS + ((int) (d >>> (level * SLOT_BITS)) & SLOT_MASK);
+        next[e] = heads[slot];
+        heads[slot] = e;
+    }
+
+    private void cascade(int level, int slot) {
+        int e = heads[level * SLOTS + slot];
+        heads[level * SLOTS + slot] = -1;
+        while (e != -1) {
+            int following = next[e];
+            place(e);
+            e = following;
+        }
+    }
+
+    private void fire(int slot, Listener listener) {
+        // Detach first so the listener can schedule again
+        int e = heads[slot];
+        heads[slot] = -1;
+        while (e != -1) {
+            int following = next[e];
+            size--;
+            long key = keys[e];
+            int index = indices[e];
+            long when = due[e];
+            next[e] = free;
+            free = e;
+            listener.expire(key, index, when);
+            e = following;
+        }
+    }
+
+    private void grow() {
+        int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        due = Arrays.copyOf(due, capacity);
+        indices = Arrays.copyOf(indices, capacity);
+        next = Arrays.copyOf(next, capacity);
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,132 @@
+package com.landsea.game.world;
+
+import com.landsea.game.entities.ResourceNode;
+
+// Uniform grid over one chunk's resource nodes (4x4 cells of 4x4 tiles). Each cell is an
+// intrusive linked list of indices into the chunk's ResourceStore, so queries only look at the
+// cells they overlap. Depleted nodes are unlinked, not skipped.
+public class ResourceGrid {
+    public static final int CELLS = 4; // Cells per chunk axis
+    private static final float CELL_PIXELS = Chunk.CHUNK_SIZE * Chunk.TILE_SIZE / CELLS;
+
+    private final ResourceStore nodes;
+    private final ResourceNode cursor = new ResourceNode(); // Handle passed to query visitors
+    private final float originX, originY;
+    private final int[] cellHead = new int[CELLS * CELLS];
+    private int[] next = new int[16];
+    private int count; // Nodes currently linked
+
+    // Squared distance of the last nearest() hit
+    private float lastDst2;
+
+    public ResourceGrid(ResourceStore nodes, float originX, float originY) {
+        this.nodes = nodes;
+        this.originX = originX;
+        this.originY = originY;
+        java.util.Arrays.fill(cellHead, -1);
+    }
+
+    private static int clampCell(int c) {
+        return c < 0 ? 0 : (c >= CELLS ? CELLS - 1 : c);
+    }
+
+    private int cellX(float x) {
+        return clampCell((int) Math.floor((x - originX) / CELL_PIXELS));
+    }
+
+    private int cellY(float y) {
+        return clampCell((int) Math.floor((y - originY) / CELL_PIXELS));
+    }
+
+    // Links the node at this index of the chunk's store
+    public void insert(int index) {
+        if (index >= next.length) {
+            int[] grown = new int[Math.max(index + 1, next.length * 2)];
+            System.arraycopy(next, 0, grown, 0, next.length);
+            next = grown;
+        }
+        int cell = cellX(nodes.getX(index)) + cellY(nodes.getY(index)) * CELLS;
+        next[index] = cellHead[cell];
+        cellHead[cell] = index;
+        count++;
+    }
+
+    // Unlinks a node (e.g. once it is depleted). Returns false if it wasn't indexed.
+    public boolean remove(int index) {
+        int cell = cellX(nodes.getX(index)) + cellY(nodes.getY(index)) * CELLS;
+        int prev = -1;
+        for (int i = cellHead[cell]; i != -1; i = next[i]) {
+            if (i == index) {
+                if (prev == -1) cellHead[cell] = next[i];
+                else next[prev] = next[i];
+                count--;
+                return true;
+            }
+            prev = i;
+        }
+        return false;
+    }
+
+    // Re-links every live node, e.g. after saved state marked some of them depleted
+    public void rebuild() {
+        java.util.Arrays.fill(cellHead, -1);
+        count = 0;
+        for (int i = 0; i < nodes.size(); i++) {
+            if (!nodes.isDepleted(i)) insert(i);
+        }
+    }
+
+    // Index of the closest matching node strictly within sqrt(maxDst2) of (x, y), or -1
+    public int nearest(float x, float y, float maxDst2, int typeMask) {
+        if (count == 0) return -1;
+        float radius = (float) Math.sqrt(maxDst2);
+        int minCX = cellX(x - radius), maxCX = cellX(x + radius);
+        int minCY = cellY(y - radius), maxCY = cellY(y + radius);
+
+        int best = -1;
+        float bestDst2 = maxDst2;
+        for (int cy = minCY; cy <= maxCY; cy++) {
+            for (int cx = minCX; cx <= maxCX; cx++) {
+                for (int i = cellHead[cx + cy * CELLS]; i != -1; i = next[i]) {
+                    if ((typeMask & nodes.getTypeMask(i)) == 0) continue;
+                    float dx = nodes.getX(i) - x;
+                    float dy = nodes.getY(i) - y;
+                    float dst2 = dx * dx + dy * dy;
+                    if (dst2 < bestDst2) {
+                        bestDst2 = dst2;
+                        best = i;
+                    }
+                }
+            }
+        }
+        lastDst2 = bestDst2;
+        return best;
+    }
+
+    public float getLastDst2() {
+        return lastDst2;
+    }
+
+    // Visits every matching node inside the axis-aligned rectangle
+    public void query(float minX, float minY, float maxX, float maxY, int typeMask, ResourceVisitor visitor) {
+        if (count == 0) return;
+        int minCX = cellX(minX), maxCX = cellX(maxX);
+        int minCY = cellY(minY), maxCY = cellY(maxY);
+        for (int cy = minCY; cy <= maxCY; cy++) {
+            for (int cx = minCX; cx <= maxCX; cx++) {
+                for (int i = cellHead[cx + cy * CELLS]; i != -1; i = next[i]) {
+                    if ((typeMask & nodes.getTypeMask(i)) == 0) continue;
+                    float px = nodes.getX(i);
+                    float py = nodes.getY(i);
+                    if (px >= minX && px <= maxX && py >= minY && py <= maxY) {
+                        visitor.visit(cursor.set(nodes, i));
+                    }
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+}
@@ -0,0 +1,98 @@
+package com.landsea.game.world;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.Array;
+import com.landsea.game.entities.ResourceNode;
+
+// Draws resource nodes batched by type: each type's shapes are a short list of layers (trunk,
+// leaves, ...), and every layer is drawn for all visible nodes of that type in one go, so the
+// colour is set once per layer per frame instead of several times per node, and nothing is
+// allocated. Shapes and colours are the same as the old per-node drawing; the only difference
+// is that a layer now covers every node of its type rather than just its own node.
+final class ResourceRenderer {
+    private static final Color TREE_TRUNK = new Color(0.4f, 0.2f, 0.0f, 1f); // Brown
+    private static final Color TREE_LEAVES = new Color(0.1f, 0.6f, 0.1f, 1f);
+    private static final Color PALM_TRUNK = new Color(0.6f, 0.5f, 0.3f, 1f); // Tan
+    private static final Color PALM_LEAVES = new Color(0.2f, 0.8f, 0.2f, 1f); // Bright green
+    private static final Color MANGROVE_TRUNK = new Color(0.3f, 0.2f, 0.1f, 1f);
+    private static final Color MANGROVE_LEAVES = new Color(0.2f, 0.5f, 0.2f, 1f);
+    private static final Color MAHOGANY_TRUNK = new Color(0.3f, 0.1f, 0.0f, 1f); // Reddish
+    private static final Color MAHOGANY_LEAVES = new Color(0.0f, 0.4f, 0.0f, 1f);
+    private static final Color BUSH_LEAVES = new Color(0.2f, 0.8f, 0.2f, 1f);
+
+    // One shape drawn at an offset from the node: a rect (width, height) or a circle (radius)
+    private static final class Layer {
+        final Color color;
+        final boolean circle;
+        final float dx, dy, width, height;
+        final int segments; // Circle segments, worked out once instead of per draw
+
+        Layer(Color color, boolean circle, float dx, float dy, float width, float height) {
+            this.color = color;
+            this.circle = circle;
+            this.dx = dx;
+            this.dy = dy;
+            this.width = width;
+            this.height = height;
+            this.segments = Math.max(1, (int) (6 * (float) Math.cbrt(width))); // ShapeRenderer's default
+        }
+    }
+
+    private static Layer rect(Color color, float dx, float dy, float width, float height) {
+        return new Layer(color, false, dx, dy, width, height);
+    }
+
+    private static Layer circle(Color color, float dx, float dy, float radius) {
+        return new Layer(color, true, dx, dy, radius, radius);
+    }
+
+    private static final ResourceNode.Type[] TYPES = ResourceNode.Type.values();
+    private static final Layer[][] LAYERS = new Layer[TYPES.length][];
+
+    static {
+        LAYERS[ResourceNode.Type.TREE.ordinal()] = new Layer[] {
+            rect(TREE_TRUNK, -5, 0, 10, 20), circle(TREE_LEAVES, 0, 20, 15) };
+        LAYERS[ResourceNode.Type.PALM_TREE.ordinal()] = new Layer[] {
+            rect(PALM_TRUNK, -3, 0, 6, 25), circle(PALM_LEAVES, 0, 25, 12) };
+        LAYERS[ResourceNode.Type.MANGROVE.ordinal()] = new Layer[] {
+            rect(MANGROVE_TRUNK, -6, 0, 12, 15), circle(MANGROVE_LEAVES, 0, 15, 18) };
+        LAYERS[ResourceNode.Type.MAHOGANY.ordinal()] = new Layer[] {
+            rect(MAHOGANY_TRUNK, -8, 0, 16, 30), circle(MAHOGANY_LEAVES, 0, 30, 20) };
+        LAYERS[ResourceNode.Type.ROCK.ordinal()] = new Layer[] {
+            circle(Color.GRAY, 0, 0, 12) };
+        LAYERS[ResourceNode.Type.BUSH.ordinal()] = new Layer[] {
+            circle(BUSH_LEAVES, 0, 0, 8) };
+        LAYERS[ResourceNode.Type.BERRY_BUSH.ordinal()] = new Layer[] {
+            circle(BUSH_LEAVES, 0, 0, 8), circle(Color.RED, 2, 2, 3), circle(Color.RED, -2, -1, 3) };
+        LAYERS[ResourceNode.Type.CAMPFIRE.ordinal()] = new Layer[] {
+            circle(Color.GRAY, 0, 0, 10), circle(Color.ORANGE, 0, 0, 6), circle(Color.YELLOW, 0, 0, 3) }; // Stones, fire, core
+    }
+
+    private ResourceRenderer() {
+    }
+
+    // The renderer must already be begun with ShapeType.Filled
+    static void render(ShapeRenderer shapeRenderer, Array<Chunk> chunks) {
+        for (ResourceNode.Type type : TYPES) {
+            Layer[] layers = LAYERS[type.ordinal()];
+            for (Layer layer : layers) {
+                shapeRenderer.setColor(layer.color);
+                for (int c = 0; c < chunks.size; c++) {
+                    ResourceStore store = chunks.items[c].getResources();
+                    for (int p = store.typeStart(type), end = store.typeEnd(type); p < end; p++) {
+                        int i = store.typeIndex(p);
+                        if (store.isDepleted(i)) continue;
+                        float x = store.getX(i) + layer.dx;
+                        float y = store.getY(i) + layer.dy;
+                        if (layer.circle) {
+                            shapeRenderer.circle(x, y, layer.width, layer.segments);
+                        } else {
+                            shapeRenderer.rect(x, y, layer.width, layer.height);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.landsea.game.world;
+
+import com.landsea.game.entities.ResourceNode;
+import java.util.Arrays;
+
+// One chunk's resource nodes as parallel primitive arrays, indexed by generation order (the
+// generator's nodes first, then anything the player placed). A node is just an index here;
+// ResourceNode is a reusable handle onto one of them.
+//
+// Nodes are never removed, only depleted, so indices stay stable for ChunkDelta and the grid.
+public class ResourceStore {
+    // x, y, health, regrow time, type, flags, plus the grid's link slot
+    public static final int BYTES_PER_NODE = 4 + 4 + 4 + 4 + 1 + 1 + 4;
+
+    static final byte DEPLETED = 1;
+
+    private static final ResourceNode.Type[] TYPES = ResourceNode.Type.values();
+
+    private float[] x = new float[16];
+    private float[] y = new float[16];
+    private float[] health = new float[16];
+    private int[] regrowAt = new int[16]; // Game second a depleted node grows back, 0 if it won't
+    private byte[] types = new byte[16];
+    private byte[] flags = new byte[16];
+    private int size;
+
+    // Node indices grouped by type for batched drawing; typeStart[t]..typeStart[t + 1] are the
+    // nodes of type t. Rebuilt lazily after nodes are added.
+    private int[] byType = new int[16];
+    private final int[] typeStart = new int[TYPES.length + 1];
+    private boolean byTypeDirty;
+
+    // Appends a node at full health and returns its index
+    public int add(float px, float py, ResourceNode.Type type) {
+        if (size == x.length) {
+            int capacity = size * 2;
+            x = Arrays.copyOf(x, capacity);
+            y = Arrays.copyOf(y, capacity);
+            health = Arrays.copyOf(health, capacity);
+            regrowAt = Arrays.copyOf(regrowAt, capacity);
+            types = Arrays.copyOf(types, capacity);
+            flags = Arrays.copyOf(flags, capacity);
+            byType = new int[capacity];
+        }
+        x[size] = px;
+        y[size] = py;
+        health[size] = type.getMaxHealth();
+        regrowAt[size] = 0;
+        types[size] = (byte) type.ordinal();
+        flags[size] = 0;
+        byTypeDirty = true;
+        return size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public float getX(int index) {
+        return x[index];
+    }
+
+    public float getY(int index) {
+        return y[index];
+    }
+
+    public ResourceNode.Type getType(int index) {
+        return TYPES[types[index]];
+    }
+
+    // Type bit for mask tests, without the enum lookup
+    public int getTypeMask(int index) {
+        return 1 << types[index];
+    }
+
+    public float getHealth(int index) {
+        return health[index];
+    }
+
+    // Health at or below zero depletes the node
+    public void setHealth(int index, float value) {
+        health[index] = value;
+        if (value <= 0) {
+            flags[index] |= DEPLETED;
+        } else {
+            flags[index] &= ~DEPLETED;
+        }
+    }
+
+    public int getRegrowTime(int index) {
+        return regrowAt[index];
+    }
+
+    public void setRegrowTime(int index, int second) {
+        regrowAt[index] = second;
+    }
+
+    // Back to full health and no longer depleted, as if freshly generated
+    public void regrow(int index) {
+        health[index] = TYPES[types[index]].getMaxHealth();
+        flags[index] &= ~DEPLETED;
+        regrowAt[index] = 0;
+    }
+
+    public boolean isDepleted(int index) {
+        return (flags[index] & DEPLETED) != 0;
+    }
+
+    // True once the player has damaged or destroyed this node
+    public boolean isModified(int index) {
+        return isDepleted(index) || health[index] < TYPES[types[index]].getMaxHealth();
+    }
+
+    // Range of typeIndex() positions holding nodes of the given type
+    public int typeStart(ResourceNode.Type type) {
+        if (byTypeDirty) sortByType();
+        return typeStart[type.ordinal()];
+    }
+
+    public int typeEnd(ResourceNode.Type type) {
+        if (byTypeDirty) sortByType();
+        return typeStart[type.ordinal() + 1];
+    }
+
+    public int typeIndex(int position) {
+        return byType[position];
+    }
+
+    // Counting sort on type; keeps generation order within a type
+    private void sortByType() {
+        Arrays.fill(typeStart, 0);
+        for (int i = 0; i < size; i++) typeStart[types[i] + 1]++;
+        for (int t = 0; t < TYPES.length; t++) typeStart[t + 1] += typeStart[t];
+        int[] cursor = Arrays.copyOf(typeStart, TYPES.length);
+        for (int i = 0; i < size; i++) byType[cursor[types[i]]++] = i;
+        byTypeDirty = false;
+    }
+
+    public int estimateMemoryBytes() {
+        return 7 * 16 + x.length * BYTES_PER_NODE + byType.length * 4;
+    }
+}
@@ -0,0 +1,9 @@
+package com.landsea.game.world;
+
+import com.landsea.game.entities.ResourceNode;
+
+// Callback for allocation-free resource queries. Keep an instance around rather than
+// creating a capturing lambda per query. The node is a reused handle, only valid during the call.
+public interface ResourceVisitor {
+    void visit(ResourceNode node);
+}
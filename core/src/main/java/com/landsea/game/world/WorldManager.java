@@ -1,147 +1,465 @@
 package com.landsea.game.world;
 
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.Array;
 import com.landsea.game.entities.ResourceNode;
+import com.landsea.game.environment.TimeManager;
+import com.landsea.game.graphics.ColorShader;
+import com.landsea.game.graphics.RenderQueue;
+import com.landsea.game.inventory.ItemStack;
+import java.io.File;
 
-public class WorldManager {
-    private ObjectMap<String, Chunk> chunks;
+public class WorldManager implements CoastField {
+    private static final float CHUNK_PIXELS = Chunk.CHUNK_SIZE * Chunk.TILE_SIZE;
+    private static final long SEED = 12345; // Fixed seed for now
+    // Spawn search: field cells of open water required around a candidate (3 cells = 24 tiles,
+    // just past the 20-tile lake probes in isOpenOcean), and how far out to look (~2500 tiles)
+    private static final int SPAWN_CLEARANCE_CELLS = 3;
+    private static final int SPAWN_SEARCH_CELLS = 320;
+    
+    private ChunkStore chunks;
     private IslandGenerator generator;
+    private ChunkGenerationPipeline pipeline;
+    private ChunkResidencyManager residency;
+    private ChunkDeltaStore deltas;
+    private LightRegistry lights;
+    private final RegrowthWheel regrowth;
+    private final RegrowthWheel.Listener regrowListener = this::regrowExpired;
+    private final ResourceNode found = new ResourceNode(); // Handed out by getClosestResource
+    private final ResourceNode lightCursor = new ResourceNode();
+    private final Array<Chunk> visibleChunks = new Array<>(false, 16, Chunk.class); // Gathered by submit, drawn by the queue
+    private final RenderQueue.Drawable terrainDrawer = this::drawTerrain;
+    private final RenderQueue.Drawable resourceDrawer = this::drawResources;
+    private WorldSnapshot snapshot;
+    private ShaderProgram terrainShader; // Created on first render (needs a GL context)
+    private final Array<Chunk> evicted = new Array<>(false, 16, Chunk.class);
     private int renderDistance = 2; // Chunks radius
+    private long frame;
     
     public WorldManager() {
-        chunks = new ObjectMap<>();
-        generator = new IslandGenerator(12345); // Fixed seed for now
+        this(null);
+    }
+    
+    // saveDirectory holds the region files with the player's changes; null keeps them in memory only
+    public WorldManager(File saveDirectory) {
+        chunks = new ChunkStore();
+        generator = new IslandGenerator(SEED);
+        pipeline = new ChunkGenerationPipeline(generator);
+        residency = new ChunkResidencyManager();
+        deltas = new ChunkDeltaStore(saveDirectory, SEED);
+        regrowth = new RegrowthWheel(deltas.loadClock());
+        lights = new LightRegistry();
+        snapshot = new WorldSnapshot(chunks);
+    }
+    
+    // World pixel coordinate -> chunk coordinate
+    public static int toChunkCoord(float world) {
+        return (int) Math.floor(world / CHUNK_PIXELS);
+    }
+    
+    public Chunk getChunk(int chunkX, int chunkY) {
+        return chunks.get(chunkX, chunkY);
+    }
+    
+    // Blocking generation, only for startup paths that must have the real terrain right now
+    private Chunk getOrGenerateChunk(int chunkX, int chunkY) {
+        Chunk chunk = chunks.get(chunkX, chunkY);
+        if (chunk == null) {
+            chunk = pipeline.generateNow(chunkX, chunkY);
+            publish(chunk);
+        }
+        return chunk;
+    }
+    
+    // Makes a freshly generated chunk live, replaying any changes saved when it was last unloaded.
+    // Regrowths that came due in the meantime happen now; the rest go back on the wheel.
+    private void publish(Chunk chunk) {
+        deltas.restore(chunk);
+        ResourceStore store = chunk.getResources();
+        long key = ChunkStore.key(chunk.getChunkX(), chunk.getChunkY());
+        for (int i = 0; i < store.size(); i++) {
+            int regrowAt = store.getRegrowTime(i);
+            if (regrowAt == 0 || !store.isDepleted(i)) continue;
+            if (regrowAt <= regrowth.getTick()) {
+                store.regrow(i);
+            } else {
+                regrowth.schedule(key, i, regrowAt);
+            }
+        }
+        chunk.getResourceGrid().rebuild(); // Restored nodes may be depleted
+        chunk.touch(frame);
+        chunks.put(chunk);
+        for (int i = 0; i < store.size(); i++) {
+            registerLight(store, i);
+        }
+    }
+    
+    // Game second the world's clock has reached, carried over from the last save. Restore the
+    // TimeManager to it so regrow times saved in earlier sessions line up.
+    public long getClock() {
+        return regrowth.getTick();
+    }
+    
+    // Grows back depleted nodes whose time has come; call once per simulation step with the game clock
+    public void updateRegrowth(TimeManager timeManager) {
+        regrowth.advance((long) timeManager.getElapsed(), regrowListener);
+    }
+    
+    // Entries for chunks that have since been unloaded are dropped: the chunk's delta carries the
+    // regrow time and publish() applies it on reload. A reload also reschedules, so an entry that
+    // no longer matches the node's regrow time is stale and skipped.
+    private void regrowExpired(long chunkKey, int index, long due) {
+        Chunk chunk = chunks.get(chunkKey);
+        if (chunk == null) return;
+        ResourceStore store = chunk.getResources();
+        if (!store.isDepleted(index) || store.getRegrowTime(index) != due) return;
+        store.regrow(index);
+        chunk.getResourceGrid().insert(index);
+        registerLight(store, index);
+    }
+    
+    public int getPendingRegrowths() {
+        return regrowth.size();
     }
     
     public void update(Vector2 playerPos) {
-        int pChunkX = (int) Math.floor(playerPos.x / (Chunk.CHUNK_SIZE * Chunk.TILE_SIZE));
-        int pChunkY = (int) Math.floor(playerPos.y / (Chunk.CHUNK_SIZE * Chunk.TILE_SIZE));
+        update(playerPos, null);
+    }
+    
+    // heading biases generation order towards where the boat is going (may be null or zero)
+    public void update(Vector2 playerPos, Vector2 heading) {
+        frame++;
+        Chunk ready;
+        while ((ready = pipeline.pollCompleted()) != null) {
+            if (!chunks.contains(ready.getChunkX(), ready.getChunkY())) {
+                publish(ready);
+            }
+        }
         
-        // Load chunks around player
+        int pChunkX = toChunkCoord(playerPos.x);
+        int pChunkY = toChunkCoord(playerPos.y);
+        
+        float headingLen = heading != null ? heading.len() : 0f;
+        
+        // Request chunks around player, nearest and most ahead first
         for (int x = pChunkX - renderDistance; x <= pChunkX + renderDistance; x++) {
             for (int y = pChunkY - renderDistance; y <= pChunkY + renderDistance; y++) {
-                String key = x + "," + y;
-                if (!chunks.containsKey(key)) {
-                    Chunk chunk = new Chunk(x, y);
-                    generator.generateChunk(chunk);
-                    chunks.put(key, chunk);
+                Chunk loaded = chunks.get(x, y);
+                if (loaded != null) {
+                    loaded.touch(frame);
+                    continue;
                 }
+                
+                float dx = x - pChunkX;
+                float dy = y - pChunkY;
+                float dist = (float) Math.sqrt(dx * dx + dy * dy);
+                float priority = dist;
+                if (headingLen > 0.001f && dist > 0) {
+                    // 1.0x for chunks dead ahead, 2.0x for chunks straight behind
+                    float cos = (dx * heading.x + dy * heading.y) / (dist * headingLen);
+                    priority = dist * (1.5f - 0.5f * cos);
+                }
+                pipeline.request(x, y, priority);
             }
         }
         
-        // Unload far chunks (optional, for memory)
-        // For now, keep them simple
+        // Forget queued work we have sailed away from
+        int keep = renderDistance + 1;
+        pipeline.cancelOutside(pChunkX - keep, pChunkY - keep, pChunkX + keep, pChunkY + keep);
+        
+        // Unload far chunks to keep memory flat on long voyages
+        if (frame % 30 == 0) {
+            residency.enforce(chunks, deltas, pChunkX, pChunkY, renderDistance, evicted);
+            for (Chunk chunk : evicted) {
+                lights.removeChunk(chunk.getChunkX(), chunk.getChunkY());
+                chunk.dispose();
+            }
+            evicted.clear();
+        }
     }
     
-    public void render(ShapeRenderer shapeRenderer, Vector2 cameraPos, float viewportWidth, float viewportHeight) {
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-        for (Chunk chunk : chunks.values()) {
-            chunk.render(shapeRenderer, cameraPos, viewportWidth, viewportHeight);
+    private void registerLight(ResourceStore store, int index) {
+        ResourceNode node = lightCursor.set(store, index);
+        if (node.isLightSource() && !node.isDepleted()) {
+            lights.add(store, index, node.getX(), node.getY(), node.getLightRadius(), node.getLightColor());
         }
-        shapeRenderer.end();
     }
     
-    public boolean isLand(float worldX, float worldY) {
-        int chunkX = (int) Math.floor(worldX / (Chunk.CHUNK_SIZE * Chunk.TILE_SIZE));
-        int chunkY = (int) Math.floor(worldY / (Chunk.CHUNK_SIZE * Chunk.TILE_SIZE));
+    // Thread-safe terrain view for parallel vessel stepping; see WorldSnapshot
+    public WorldSnapshot getSnapshot() {
+        return snapshot;
+    }
+    
+    public LightRegistry getLights() {
+        return lights;
+    }
+    
+    public ChunkResidencyManager getResidency() {
+        return residency;
+    }
+    
+    public int getLoadedChunkCount() {
+        return chunks.size();
+    }
+    
+    // Writes the changes of every loaded chunk to the delta store
+    public void save() {
+        for (int i = 0, n = chunks.capacity(); i < n; i++) {
+            Chunk chunk = chunks.valueAt(i);
+            if (chunk == null) continue;
+            deltas.writeBack(chunk);
+        }
+        deltas.flush();
+        deltas.saveClock(regrowth.getTick());
+    }
+    
+    public void dispose() {
+        pipeline.dispose();
+        deltas.closeAll();
+        for (int i = 0, n = chunks.capacity(); i < n; i++) {
+            Chunk chunk = chunks.valueAt(i);
+            if (chunk != null) chunk.dispose();
+        }
+        if (terrainShader != null) terrainShader.dispose();
+    }
+    
+    public int getChunksGenerated() {
+        return pipeline.getGeneratedCount();
+    }
+    
+    // Queues the visible chunks' terrain meshes, then their resource nodes on top
+    public void submit(RenderQueue queue, float cameraX, float cameraY, float viewportWidth, float viewportHeight) {
+        // Only chunks overlapping the view are visited
+        int minChunkX = toChunkCoord(cameraX - viewportWidth / 2);
+        int maxChunkX = toChunkCoord(cameraX + viewportWidth / 2);
+        int minChunkY = toChunkCoord(cameraY - viewportHeight / 2);
+        int maxChunkY = toChunkCoord(cameraY + viewportHeight / 2);
         
-        String key = chunkX + "," + chunkY;
+        visibleChunks.clear();
+        for (int x = minChunkX; x <= maxChunkX; x++) {
+            for (int y = minChunkY; y <= maxChunkY; y++) {
+                Chunk chunk = chunks.get(x, y);
+                if (chunk != null) visibleChunks.add(chunk);
+            }
+        }
+        queue.submit(RenderQueue.Layer.TERRAIN, null, null, terrainDrawer);
+        queue.submit(RenderQueue.Layer.RESOURCES, ShapeRenderer.ShapeType.Filled, null, resourceDrawer);
+    }
+    
+    // Terrain: one cached mesh per visible chunk
+    private void drawTerrain(ShapeRenderer shapeRenderer) {
+        if (terrainShader == null) {
+            terrainShader = ColorShader.create();
+        }
+        terrainShader.bind();
+        terrainShader.setUniformMatrix("u_projTrans", shapeRenderer.getProjectionMatrix());
+        for (int i = 0; i < visibleChunks.size; i++) {
+            visibleChunks.items[i].renderTerrain(terrainShader);
+        }
+    }
+    
+    // Resource nodes batched by type across all visible chunks
+    private void drawResources(ShapeRenderer shapeRenderer) {
+        ResourceRenderer.render(shapeRenderer, visibleChunks);
+    }
+    
+    // Chunks that are not generated yet count as land, so nothing sails into unknown terrain.
+    // The missing chunk is queued with top priority instead of being generated on this thread.
+    public boolean isLand(float worldX, float worldY) {
+        int chunkX = toChunkCoord(worldX);
+        int chunkY = toChunkCoord(worldY);
         
-        // Ensure chunk exists for accurate collision
-        if (!chunks.containsKey(key)) {
-            Chunk chunk = new Chunk(chunkX, chunkY);
-            generator.generateChunk(chunk);
-            chunks.put(key, chunk);
+        Chunk chunk = chunks.get(chunkX, chunkY);
+        if (chunk == null) {
+            pipeline.request(chunkX, chunkY, 0f);
+            return true;
         }
+        chunk.touch(frame);
         
-        if (chunks.containsKey(key)) {
-            Chunk chunk = chunks.get(key);
-            
-            // Local tile coordinates
-            float localX = worldX - chunkX * Chunk.CHUNK_SIZE * Chunk.TILE_SIZE;
-            float localY = worldY - chunkY * Chunk.CHUNK_SIZE * Chunk.TILE_SIZE;
-            
-            int tileX = (int) (localX / Chunk.TILE_SIZE);
-            int tileY = (int) (localY / Chunk.TILE_SIZE);
-            
-            return chunk.isLand(tileX, tileY);
+        return isLandInChunk(chunk, worldX, worldY);
+    }
+    
+    // Signed distance in pixels to the nearest coastline (positive over water). Like isLand, a chunk
+    // that isn't generated yet counts as land: it reads as half a tile inside the coast and is
+    // queued with top priority.
+    @Override
+    public float sampleCoastDistance(float worldX, float worldY) {
+        int chunkX = toChunkCoord(worldX);
+        int chunkY = toChunkCoord(worldY);
+        
+        Chunk chunk = chunks.get(chunkX, chunkY);
+        if (chunk == null) {
+            pipeline.request(chunkX, chunkY, 0f);
+            return -Chunk.TILE_SIZE / 2;
         }
-        return false;
+        chunk.touch(frame);
+        return chunk.getCoastDistance(worldX - chunkX * CHUNK_PIXELS, worldY - chunkY * CHUNK_PIXELS);
+    }
+    
+    // Exact land test that never builds a chunk: loaded chunks answer directly, anything else is
+    // sampled from the generator. Used by the spawn search so it doesn't generate chunks it only glances at.
+    private boolean isLandSampled(float worldX, float worldY) {
+        int chunkX = toChunkCoord(worldX);
+        int chunkY = toChunkCoord(worldY);
+        Chunk chunk = chunks.get(chunkX, chunkY);
+        if (chunk != null) {
+            return isLandInChunk(chunk, worldX, worldY);
+        }
+        
+        // Same tile rounding as isLandInChunk
+        int tileX = chunkX * Chunk.CHUNK_SIZE + (int) ((worldX - chunkX * CHUNK_PIXELS) / Chunk.TILE_SIZE);
+        int tileY = chunkY * Chunk.CHUNK_SIZE + (int) ((worldY - chunkY * CHUNK_PIXELS) / Chunk.TILE_SIZE);
+        return generator.sampleHeight(tileX, tileY) > Chunk.WATER_LEVEL;
     }
     
-    public void addResourceNode(ResourceNode node) {
-        int chunkX = (int) Math.floor(node.getPosition().x / (Chunk.CHUNK_SIZE * Chunk.TILE_SIZE));
-        int chunkY = (int) Math.floor(node.getPosition().y / (Chunk.CHUNK_SIZE * Chunk.TILE_SIZE));
+    private boolean isLandInChunk(Chunk chunk, float worldX, float worldY) {
+        int chunkX = chunk.getChunkX();
+        int chunkY = chunk.getChunkY();
         
-        String key = chunkX + "," + chunkY;
-        if (chunks.containsKey(key)) {
-            chunks.get(key).addResourceNode(node);
+        // Local tile coordinates
+        float localX = worldX - chunkX * CHUNK_PIXELS;
+        float localY = worldY - chunkY * CHUNK_PIXELS;
+        
+        int tileX = (int) (localX / Chunk.TILE_SIZE);
+        int tileY = (int) (localY / Chunk.TILE_SIZE);
+        
+        return chunk.isLand(tileX, tileY);
+    }
+    
+    public void addResource(float x, float y, ResourceNode.Type type) {
+        Chunk chunk = chunks.get(toChunkCoord(x), toChunkCoord(y));
+        if (chunk != null) {
+            int index = chunk.addResource(x, y, type);
+            registerLight(chunk.getResources(), index);
         }
     }
 
     public ResourceNode getClosestResource(Vector2 pos, float radius) {
-        int chunkX = (int) Math.floor(pos.x / (Chunk.CHUNK_SIZE * Chunk.TILE_SIZE));
-        int chunkY = (int) Math.floor(pos.y / (Chunk.CHUNK_SIZE * Chunk.TILE_SIZE));
+        return getClosestResource(pos.x, pos.y, radius, ResourceNode.ALL_TYPES);
+    }
+    
+    // Closest live node of the given types (ResourceNode.Type.mask() bits) within radius. The
+    // result is a reused handle, good until the next call.
+    public ResourceNode getClosestResource(float x, float y, float radius, int typeMask) {
+        int minChunkX = toChunkCoord(x - radius), maxChunkX = toChunkCoord(x + radius);
+        int minChunkY = toChunkCoord(y - radius), maxChunkY = toChunkCoord(y + radius);
         
-        // Check current and adjacent chunks
         ResourceNode closest = null;
         float minDst2 = radius * radius;
         
-        for (int x = chunkX - 1; x <= chunkX + 1; x++) {
-            for (int y = chunkY - 1; y <= chunkY + 1; y++) {
-                String key = x + "," + y;
-                if (chunks.containsKey(key)) {
-                    Chunk chunk = chunks.get(key);
-                    for (ResourceNode node : chunk.getResourceNodes()) {
-                        if (node.isDepleted()) continue;
-                        
-                        float dst2 = pos.dst2(node.getPosition());
-                        if (dst2 < minDst2) {
-                            minDst2 = dst2;
-                            closest = node;
-                        }
-                    }
+        for (int cx = minChunkX; cx <= maxChunkX; cx++) {
+            for (int cy = minChunkY; cy <= maxChunkY; cy++) {
+                Chunk chunk = chunks.get(cx, cy);
+                if (chunk == null) continue;
+                chunk.touch(frame);
+                
+                ResourceGrid grid = chunk.getResourceGrid();
+                int index = grid.nearest(x, y, minDst2, typeMask);
+                if (index >= 0) {
+                    closest = found.set(chunk.getResources(), index);
+                    minDst2 = grid.getLastDst2();
                 }
             }
         }
         return closest;
     }
-
-    public java.util.List<ResourceNode> getVisibleResourceNodes(Vector2 cameraPos, float viewportWidth, float viewportHeight) {
-        java.util.List<ResourceNode> visibleNodes = new java.util.ArrayList<>();
-        
-        // Calculate visible chunks range
-        int startChunkX = (int) Math.floor((cameraPos.x - viewportWidth/2) / (Chunk.CHUNK_SIZE * Chunk.TILE_SIZE));
-        int endChunkX = (int) Math.floor((cameraPos.x + viewportWidth/2) / (Chunk.CHUNK_SIZE * Chunk.TILE_SIZE));
-        int startChunkY = (int) Math.floor((cameraPos.y - viewportHeight/2) / (Chunk.CHUNK_SIZE * Chunk.TILE_SIZE));
-        int endChunkY = (int) Math.floor((cameraPos.y + viewportHeight/2) / (Chunk.CHUNK_SIZE * Chunk.TILE_SIZE));
-        
-        // Add a buffer of 1 chunk
-        startChunkX--; endChunkX++;
-        startChunkY--; endChunkY++;
-        
-        for (int x = startChunkX; x <= endChunkX; x++) {
-            for (int y = startChunkY; y <= endChunkY; y++) {
-                String key = x + "," + y;
-                if (chunks.containsKey(key)) {
-                    visibleNodes.addAll(chunks.get(key).getResourceNodes());
+    
+    // Visits live nodes of the given types inside the rectangle, without allocating
+    public void forEachResource(float minX, float minY, float maxX, float maxY, int typeMask, ResourceVisitor visitor) {
+        int minChunkX = toChunkCoord(minX), maxChunkX = toChunkCoord(maxX);
+        int minChunkY = toChunkCoord(minY), maxChunkY = toChunkCoord(maxY);
+        
+        for (int cx = minChunkX; cx <= maxChunkX; cx++) {
+            for (int cy = minChunkY; cy <= maxChunkY; cy++) {
+                Chunk chunk = chunks.get(cx, cy);
+                if (chunk != null) {
+                    chunk.getResourceGrid().query(minX, minY, maxX, maxY, typeMask, visitor);
                 }
             }
         }
-        return visibleNodes;
+    }
+    
+    // Applies damage through the world so depleted nodes drop out of the spatial index and are
+    // scheduled to grow back
+    public ItemStack damageResource(ResourceNode node, float damage) {
+        boolean wasDepleted = node.isDepleted();
+        ItemStack drops = node.takeDamage(damage);
+        if (node.isDepleted() && !wasDepleted) {
+            int chunkX = toChunkCoord(node.getX()), chunkY = toChunkCoord(node.getY());
+            Chunk chunk = chunks.get(chunkX, chunkY);
+            if (chunk != null && chunk.getResources() == node.getStore()) {
+                chunk.getResourceGrid().remove(node.getIndex());
+                float regrowSeconds = node.getType().getRegrowSeconds();
+                if (regrowSeconds > 0) {
+                    int regrowAt = (int) (regrowth.getTick() + (long) Math.ceil(regrowSeconds));
+                    node.getStore().setRegrowTime(node.getIndex(), regrowAt);
+                    regrowth.schedule(ChunkStore.key(chunkX, chunkY), node.getIndex(), regrowAt);
+                }
+            }
+            if (node.isLightSource()) {
+                lights.remove(node.getStore(), node.getIndex(), node.getX(), node.getY());
+            }
+        }
+        return drops;
     }
     
     public Vector2 findSafeSpawn() {
+        System.out.println("Searching for safe spawn...");
+        
+        Vector2 spawn = findSpawnInOceanField();
+        if (spawn == null) {
+            spawn = findSpawnByRings();
+        }
+        if (spawn == null) {
+            System.out.println("Failed to find safe spawn, using fallback (0,0)");
+            spawn = new Vector2(0, 0); // Fallback
+        } else {
+            System.out.println("Found spawn at: " + spawn.x + ", " + spawn.y);
+        }
+        
+        // Build the terrain around the spawn now so the first frame has real land to collide with
+        int spawnChunkX = toChunkCoord(spawn.x);
+        int spawnChunkY = toChunkCoord(spawn.y);
+        for (int x = spawnChunkX - 1; x <= spawnChunkX + 1; x++) {
+            for (int y = spawnChunkY - 1; y <= spawnChunkY + 1; y++) {
+                getOrGenerateChunk(x, y);
+            }
+        }
+        return spawn;
+    }
+    
+    // Walks outwards over the coarse ocean distance field and only checks cells that sit deep
+    // enough in open water, so most of the search never touches the full height formula
+    private Vector2 findSpawnInOceanField() {
+        OceanDistanceField field = new OceanDistanceField(generator);
+        
+        for (int radius = 0; radius <= SPAWN_SEARCH_CELLS; radius++) {
+            for (int x = -radius; x <= radius; x++) {
+                int step = (x == -radius || x == radius) ? 1 : 2 * radius;
+                for (int y = -radius; y <= radius; y += step) {
+                    if (field.distance(x, y) < SPAWN_CLEARANCE_CELLS) continue;
+                    
+                    float checkX = OceanDistanceField.cellCenter(x);
+                    float checkY = OceanDistanceField.cellCenter(y);
+                    if (isOpenOcean(checkX, checkY)) {
+                        return new Vector2(checkX, checkY);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+    
+    // The original exhaustive search, kept as a fallback for worlds the field finds nothing in
+    private Vector2 findSpawnByRings() {
         // Search for a water tile starting from (0,0)
         // We check in increments of TILE_SIZE * 5 to find a clear spot
         int radius = 0;
         int maxRadius = 500; // Significantly increased search range
         float step = Chunk.TILE_SIZE * 5;
         
-        System.out.println("Searching for safe spawn...");
-        
         while (radius < maxRadius) {
             for (int x = -radius; x <= radius; x++) {
                 for (int y = -radius; y <= radius; y++) {
@@ -152,16 +470,13 @@ public class WorldManager {
                     float checkY = y * step;
                     
                     if (isOpenOcean(checkX, checkY)) {
-                        System.out.println("Found spawn at: " + checkX + ", " + checkY);
                         return new Vector2(checkX, checkY);
                     }
                 }
             }
             radius++;
         }
-        
-        System.out.println("Failed to find safe spawn, using fallback (0,0)");
-        return new Vector2(0, 0); // Fallback
+        return null;
     }
     
     private boolean isOpenOcean(float x, float y) {
@@ -172,7 +487,7 @@ public class WorldManager {
         
         for (int i = -radiusTiles; i <= radiusTiles; i++) {
             for (int j = -radiusTiles; j <= radiusTiles; j++) {
-                if (isLand(x + i * Chunk.TILE_SIZE, y + j * Chunk.TILE_SIZE)) {
+                if (isLandSampled(x + i * Chunk.TILE_SIZE, y + j * Chunk.TILE_SIZE)) {
                     return false;
                 }
             }
@@ -183,14 +498,14 @@ public class WorldManager {
         float checkDist = Chunk.TILE_SIZE * 20;
         
         // Check 8 directions
-        if (isLand(x + checkDist, y)) return false;
-        if (isLand(x - checkDist, y)) return false;
-        if (isLand(x, y + checkDist)) return false;
-        if (isLand(x, y - checkDist)) return false;
-        if (isLand(x + checkDist, y + checkDist)) return false;
-        if (isLand(x + checkDist, y - checkDist)) return false;
-        if (isLand(x - checkDist, y + checkDist)) return false;
-        if (isLand(x - checkDist, y - checkDist)) return false;
+        if (isLandSampled(x + checkDist, y)) return false;
+        if (isLandSampled(x - checkDist, y)) return false;
+        if (isLandSampled(x, y + checkDist)) return false;
+        if (isLandSampled(x, y - checkDist)) return false;
+        if (isLandSampled(x + checkDist, y + checkDist)) return false;
+        if (isLandSampled(x + checkDist, y - checkDist)) return false;
+        if (isLandSampled(x - checkDist, y + checkDist)) return false;
+        if (isLandSampled(x - checkDist, y - checkDist)) return false;
         
         return true;
     }
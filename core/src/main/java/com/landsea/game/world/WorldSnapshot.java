@@ -0,0 +1,28 @@
+package com.landsea.game.world;
+
+// Read-only view of the loaded terrain for stepping vessels on worker threads. It samples the
+// chunk table directly without touching LRU stamps or queueing generation, so any number of
+// threads can read it at once. Only valid until the next WorldManager.update, which is the one
+// place chunks come and go.
+public class WorldSnapshot implements CoastField {
+    // Terrain only streams in around the player, so sea past the loaded chunks reads as open water
+    // rather than a wall; far-off vessels sail on until their chunk loads (and ease off any land
+    // it turns out they were on)
+    private static final float UNLOADED_DISTANCE = Chunk.COAST_RANGE_TILES * Chunk.TILE_SIZE;
+    private static final float CHUNK_PIXELS = Chunk.CHUNK_SIZE * Chunk.TILE_SIZE;
+
+    private final ChunkStore chunks;
+
+    WorldSnapshot(ChunkStore chunks) {
+        this.chunks = chunks;
+    }
+
+    @Override
+    public float sampleCoastDistance(float worldX, float worldY) {
+        int chunkX = WorldManager.toChunkCoord(worldX);
+        int chunkY = WorldManager.toChunkCoord(worldY);
+        Chunk chunk = chunks.get(chunkX, chunkY);
+        if (chunk == null) return UNLOADED_DISTANCE;
+        return chunk.getCoastDistance(worldX - chunkX * CHUNK_PIXELS, worldY - chunkY * CHUNK_PIXELS);
+    }
+}
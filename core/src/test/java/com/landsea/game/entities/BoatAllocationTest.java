@@ -0,0 +1,131 @@
+package com.landsea.game.entities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.landsea.game.environment.WindManager;
+import com.landsea.game.world.Chunk;
+import com.landsea.game.world.WorldFixture;
+import com.landsea.game.world.WorldManager;
+import java.lang.management.ManagementFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+// The physics step runs for every boat every simulation step, so it must not allocate.
+// Counts the bytes this thread allocates across a run of warmed-up Boat.update calls.
+class BoatAllocationTest {
+    private static final float STEP = 1f / 60f;
+    private static final int WARMUP = 200_000; // Enough for the JIT to compile the step
+    private static final int MEASURED = 100_000;
+    private static final int RESET_INTERVAL = 256; // Open water: steps before the boat is put back at spawn
+    private static final float RAM_SPEED = 120f; // Pixels per second into the shore
+    private static final int SHORE_DIRECTIONS = 16;
+    private static final float SHORE_SEARCH = WorldFixture.LOADED_RADIUS * Chunk.CHUNK_SIZE * Chunk.TILE_SIZE;
+
+    private final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private WorldManager worldManager;
+    private WindManager windManager;
+    private Boat boat;
+    private final Vector2 spawn = new Vector2();
+    private final Vector2 shore = new Vector2(); // Boat centre with the hull just clear of the coast
+    private final Vector2 inland = new Vector2(); // Unit direction from there into the land
+    private int hits;
+
+    @BeforeEach
+    void setUp() {
+        threads.setThreadAllocatedMemoryEnabled(true);
+        worldManager = WorldFixture.loadedWorld(spawn);
+        windManager = new WindManager();
+        windManager.update(STEP);
+        boat = new Boat(spawn.x, spawn.y);
+    }
+
+    @AfterEach
+    void tearDown() {
+        worldManager.dispose();
+    }
+
+    @Test
+    void updateInOpenWaterDoesNotAllocate() {
+        if (!boat.getSail().isRaised()) boat.getSail().toggleRaise();
+        warmUpAndMeasure(false);
+    }
+
+    // Rams the hull into a real shore every step, so the sweep, contact normal, slide, bounce and
+    // depenetration all run
+    @Test
+    void updateAgainstTheShoreDoesNotAllocate() {
+        findShore();
+        hits = 0;
+        warmUpAndMeasure(true);
+        assertEquals(MEASURED, hits, "Every measured step should have hit the shore");
+    }
+
+    private void warmUpAndMeasure(boolean ram) {
+        run(ram, WARMUP);
+        hits = 0;
+        // The counter read itself may cost a few bytes; measure it and take it off
+        long overhead = threads.getCurrentThreadAllocatedBytes();
+        overhead = threads.getCurrentThreadAllocatedBytes() - overhead;
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        run(ram, MEASURED);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before - overhead;
+        assertEquals(0, allocated, "Bytes allocated over " + MEASURED + " steps");
+    }
+
+    private void run(boolean ram, int steps) {
+        for (int i = 0; i < steps; i++) {
+            if (ram) {
+                Vector2 position = boat.getPosition();
+                position.set(shore);
+                boat.getVelocity().set(inland.x * RAM_SPEED, inland.y * RAM_SPEED);
+                boat.setAngularVelocity(0);
+                float angle = boat.getAngle();
+                float endX = position.x + inland.x * RAM_SPEED * STEP;
+                float endY = position.y + inland.y * RAM_SPEED * STEP;
+                if (boat.sweepHull(worldManager, position.x, position.y, angle, endX, endY, angle) >= 0) hits++;
+                boat.update(STEP, windManager, worldManager);
+            } else {
+                if (i % RESET_INTERVAL == 0) {
+                    boat.getPosition().set(spawn);
+                    boat.getVelocity().setZero();
+                }
+                boat.update(STEP, windManager, null);
+            }
+        }
+    }
+
+    // Marches out from spawn in a ring of directions over the coast distance field and keeps the
+    // nearest spot where the hull touches land, backed off to the last pose that was still clear
+    private void findShore() {
+        float best = Float.MAX_VALUE;
+        float angle = boat.getAngle();
+        for (int d = 0; d < SHORE_DIRECTIONS; d++) {
+            float dirX = MathUtils.cos(d * MathUtils.PI2 / SHORE_DIRECTIONS);
+            float dirY = MathUtils.sin(d * MathUtils.PI2 / SHORE_DIRECTIONS);
+            float limit = Math.min(best, SHORE_SEARCH - boat.getHullRadius());
+            float clear = 0;
+            for (float r = 0; r < limit; ) {
+                float x = spawn.x + dirX * r;
+                float y = spawn.y + dirY * r;
+                if (boat.sweepHull(worldManager, x, y, angle, x, y, angle) >= 0) {
+                    best = clear;
+                    shore.set(spawn.x + dirX * clear, spawn.y + dirY * clear);
+                    inland.set(dirX, dirY);
+                    break;
+                }
+                clear = r;
+                // Big strides while the field says the coast is far, single pixels near it
+                float centreClearance = worldManager.sampleCoastDistance(x, y) - boat.getHullRadius();
+                r += Math.max(1f, centreClearance * 0.5f);
+            }
+        }
+        if (best == Float.MAX_VALUE) {
+            throw new IllegalStateException("No shore within the loaded chunks around spawn");
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.landsea.game.world;
+
+import com.badlogic.gdx.math.Vector2;
+
+// Builds a world with every chunk around the spawn point already generated, so query
+// benchmarks and tests measure lookups rather than the background generator.
+// Shared by core's tests and the JMH benchmarks through the java-test-fixtures source set.
+public final class WorldFixture {
+    public static final int LOADED_RADIUS = 2; // Matches WorldManager's render distance
+
+    private WorldFixture() {
+    }
+
+    public static WorldManager loadedWorld(Vector2 spawnOut) {
+        WorldManager worldManager = new WorldManager();
+        spawnOut.set(worldManager.findSafeSpawn());
+
+        int centerX = WorldManager.toChunkCoord(spawnOut.x);
+        int centerY = WorldManager.toChunkCoord(spawnOut.y);
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (!loaded(worldManager, centerX, centerY)) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Chunks around spawn were not generated in time");
+            }
+            worldManager.update(spawnOut);
+            Thread.yield();
+        }
+        return worldManager;
+    }
+
+    private static boolean loaded(WorldManager worldManager, int centerX, int centerY) {
+        for (int x = centerX - LOADED_RADIUS; x <= centerX + LOADED_RADIUS; x++) {
+            for (int y = centerY - LOADED_RADIUS; y <= centerY + LOADED_RADIUS; y++) {
+                if (worldManager.getChunk(x, y) == null) return false;
+            }
+        }
+        return true;
+    }
+}
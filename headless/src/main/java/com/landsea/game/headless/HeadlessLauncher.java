@@ -0,0 +1,73 @@
+package com.landsea.game.headless;
+
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import java.io.File;
+
+// Runs the world simulation without a window or GPU and prints throughput numbers.
+//
+//   --route NAME   downwind, reach, anchored or all (default all)
+//   --ticks N      simulation steps per route (default 100000)
+//   --hz N         simulation rate the steps stand for (default 60)
+//   --save DIR     write region files to DIR instead of keeping deltas in memory
+//   --fleet N      AI vessels sailing alongside the benchmarked boat (default 0)
+//   --threads N    fleet worker threads (default: one per core)
+public class HeadlessLauncher {
+    public static void main(String[] args) {
+        String route = "all";
+        int ticks = 100000;
+        float hz = 60f;
+        File saveDirectory = null;
+        int fleetSize = 0;
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (i + 1 >= args.length) {
+                usage("Missing value for " + arg);
+            }
+            switch (arg) {
+                case "--route":
+                    route = args[++i];
+                    break;
+                case "--ticks":
+                    ticks = Integer.parseInt(args[++i]);
+                    break;
+                case "--hz":
+                    hz = Float.parseFloat(args[++i]);
+                    break;
+                case "--save":
+                    saveDirectory = new File(args[++i]);
+                    break;
+                case "--fleet":
+                    fleetSize = Integer.parseInt(args[++i]);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(args[++i]);
+                    if (threads < 1) usage("--threads must be at least 1");
+                    break;
+                default:
+                    usage("Unknown option " + arg);
+            }
+        }
+
+        Route[] routes;
+        if (route.equals("all")) {
+            routes = Route.all();
+        } else {
+            Route selected = Route.named(route);
+            if (selected == null) usage("Unknown route " + route);
+            routes = new Route[] { selected };
+        }
+
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = -1; // Everything happens in create(); no render loop needed
+        new HeadlessApplication(new SimulationBenchmark(routes, ticks, hz, saveDirectory, fleetSize, threads), config);
+    }
+
+    private static void usage(String problem) {
+        System.err.println(problem);
+        System.err.println("Usage: HeadlessLauncher [--route downwind|reach|anchored|all] [--ticks N] [--hz N] [--save DIR] [--fleet N] [--threads N]");
+        System.exit(2);
+    }
+}
@@ -0,0 +1,67 @@
+package com.landsea.game.headless;
+
+import com.landsea.game.world.Chunk;
+
+// A scripted voyage: the boat sails through waypoints laid out leg by leg from the start
+// position, cycling the legs forever. Legs are in chunks. The default wind blows east,
+// so no route asks the boat to beat straight upwind.
+public class Route {
+    private static final float CHUNK_PIXELS = Chunk.CHUNK_SIZE * Chunk.TILE_SIZE;
+
+    private final String name;
+    private final float[] legs; // dx, dy pairs in chunks
+    private final boolean anchored;
+
+    public Route(String name, float[] legs, boolean anchored) {
+        this.name = name;
+        this.legs = legs;
+        this.anchored = anchored;
+    }
+
+    // Long run with the wind; streams in the most new terrain per tick
+    public static Route downwind() {
+        return new Route("downwind", new float[] { 16, 0 }, false);
+    }
+
+    // Zigzag across the wind, drifting east; mixes turning with steady streaming
+    public static Route reach() {
+        return new Route("reach", new float[] { 3, 10, 3, -10 }, false);
+    }
+
+    // Sail down, anchor dropped; measures the per-tick cost with no new terrain
+    public static Route anchored() {
+        return new Route("anchored", new float[0], true);
+    }
+
+    public static Route[] all() {
+        return new Route[] { downwind(), reach(), anchored() };
+    }
+
+    public static Route named(String name) {
+        for (Route route : all()) {
+            if (route.name.equals(name)) return route;
+        }
+        return null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isAnchored() {
+        return anchored;
+    }
+
+    public int getLegCount() {
+        return legs.length / 2;
+    }
+
+    // Leg offsets in world pixels
+    public float getLegX(int leg) {
+        return legs[(leg % getLegCount()) * 2] * CHUNK_PIXELS;
+    }
+
+    public float getLegY(int leg) {
+        return legs[(leg % getLegCount()) * 2 + 1] * CHUNK_PIXELS;
+    }
+}
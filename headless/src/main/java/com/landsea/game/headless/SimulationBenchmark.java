@@ -0,0 +1,244 @@
+package com.landsea.game.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.landsea.game.entities.Boat;
+import com.landsea.game.entities.Player;
+import com.landsea.game.entities.boatparts.RudderPart;
+import com.landsea.game.environment.TimeManager;
+import com.landsea.game.environment.WeatherManager;
+import com.landsea.game.environment.WindManager;
+import com.landsea.game.simulation.Fleet;
+import com.landsea.game.simulation.Vessel;
+import com.landsea.game.world.WorldManager;
+import java.io.File;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+
+// Sails each route for a fixed number of simulation steps as fast as the CPU allows and
+// reports ticks/second, chunks generated/second, heap high-water mark and GC time.
+public class SimulationBenchmark extends ApplicationAdapter {
+    private static final long RANDOM_SEED = 42; // Same weather and kicks every run
+    private static final float WAYPOINT_RADIUS = 256f;
+    private static final float STUCK_SPEED = 5f;
+    private static final float STUCK_SECONDS = 2f;
+
+    private final Route[] routes;
+    private final int ticks;
+    private final float stepSeconds;
+    private final File saveDirectory;
+    private final int fleetSize;
+    private final int threads;
+
+    private static class Result {
+        String route;
+        long ticks;
+        long wallNanos;
+        long stallNanos; // Time spent waiting for the chunk under the boat to be generated
+        int chunksGenerated;
+        float distance;
+        int kicks;
+        long heapPeakBytes;
+        long gcCount;
+        long gcMillis;
+    }
+
+    public SimulationBenchmark(Route[] routes, int ticks, float hz, File saveDirectory, int fleetSize, int threads) {
+        this.routes = routes;
+        this.ticks = ticks;
+        this.stepSeconds = 1f / hz;
+        this.saveDirectory = saveDirectory;
+        this.fleetSize = fleetSize;
+        this.threads = threads;
+    }
+
+    @Override
+    public void create() {
+        System.out.printf("Headless simulation: %d ticks per route at %.0f Hz, %d cores, max heap %d MB%n",
+            ticks, 1f / stepSeconds, Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().maxMemory() >> 20);
+        if (fleetSize > 0) {
+            System.out.printf("Fleet: %d AI vessels on %d thread%s%n", fleetSize, threads, threads == 1 ? "" : "s");
+        }
+        System.out.printf("%-10s %9s %10s %8s %9s %6s %7s %9s %9s %8s %5s %7s%n",
+            "route", "ticks", "ticks/s", "x real", "sailed px", "kicks", "chunks", "chunks/s", "stall ms", "heap MB", "gcs", "gc ms");
+
+        for (Route route : routes) {
+            Result result = run(route);
+            double seconds = result.wallNanos / 1e9;
+            System.out.printf("%-10s %9d %10.0f %8.0f %9.0f %6d %7d %9.1f %9.1f %8.1f %5d %7d%n",
+                result.route, result.ticks, result.ticks / seconds, result.ticks * stepSeconds / seconds,
+                result.distance, result.kicks, result.chunksGenerated, result.chunksGenerated / seconds, result.stallNanos / 1e6,
+                result.heapPeakBytes / (1024.0 * 1024.0), result.gcCount, result.gcMillis);
+        }
+
+        Gdx.app.exit();
+    }
+
+    private Result run(Route route) {
+        MathUtils.random.setSeed(RANDOM_SEED);
+
+        WorldManager worldManager = new WorldManager(saveDirectory);
+        WindManager windManager = new WindManager();
+        TimeManager timeManager = new TimeManager();
+        timeManager.restore(worldManager.getClock());
+        WeatherManager weatherManager = new WeatherManager();
+
+        Vector2 spawn = worldManager.findSafeSpawn();
+        Boat boat = new Boat(spawn.x, spawn.y);
+        Player player = new Player(boat);
+        if (route.isAnchored()) {
+            if (boat.getSail().isRaised()) boat.getSail().toggleRaise();
+            if (!boat.getAnchor().isDropped()) boat.getAnchor().toggle();
+        } else {
+            if (!boat.getSail().isRaised()) boat.getSail().toggleRaise();
+            if (boat.getAnchor().isDropped()) boat.getAnchor().toggle();
+        }
+
+        // The benchmarked boat sails as the fleet's player vessel, with the AI spread out around it
+        Fleet fleet = null;
+        if (fleetSize > 0) {
+            fleet = new Fleet(threads, RANDOM_SEED);
+            fleet.add(new Vessel(boat, Vessel.Role.PLAYER));
+            fleet.populate(spawn.x, spawn.y, 300f, 600f + 200f * (float) Math.sqrt(fleetSize), fleetSize, 0);
+        }
+
+        float targetX = spawn.x;
+        float targetY = spawn.y;
+        int leg = 0;
+        if (route.getLegCount() > 0) {
+            targetX += route.getLegX(leg);
+            targetY += route.getLegY(leg);
+        }
+
+        Result result = new Result();
+        result.route = route.getName();
+        List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+        long gcCountBefore = 0, gcMillisBefore = 0;
+        for (GarbageCollectorMXBean gc : collectors) {
+            gcCountBefore += Math.max(0, gc.getCollectionCount());
+            gcMillisBefore += Math.max(0, gc.getCollectionTime());
+        }
+        List<MemoryPoolMXBean> pools = ManagementFactory.getMemoryPoolMXBeans();
+        for (MemoryPoolMXBean pool : pools) {
+            if (pool.getType() == MemoryType.HEAP) pool.resetPeakUsage();
+        }
+
+        int chunksBefore = worldManager.getChunksGenerated();
+        float lastX = boat.getPosition().x, lastY = boat.getPosition().y;
+        float stuckTime = 0;
+        long start = System.nanoTime();
+
+        for (int tick = 0; tick < ticks; tick++) {
+            Vector2 position = boat.getPosition();
+            worldManager.update(position, boat.getVelocity());
+            result.stallNanos += waitForTerrain(worldManager, boat);
+
+            if (route.getLegCount() > 0) {
+                float dx = targetX - position.x;
+                float dy = targetY - position.y;
+                if (dx * dx + dy * dy < WAYPOINT_RADIUS * WAYPOINT_RADIUS) {
+                    leg++;
+                    targetX += route.getLegX(leg);
+                    targetY += route.getLegY(leg);
+                }
+                steer(boat, targetX, targetY);
+            }
+
+            windManager.update(stepSeconds);
+            timeManager.update(stepSeconds);
+            worldManager.updateRegrowth(timeManager);
+            weatherManager.update(stepSeconds, windManager);
+            if (fleet != null) {
+                fleet.step(stepSeconds, windManager, worldManager);
+            } else {
+                boat.update(stepSeconds, windManager, worldManager);
+            }
+            player.update(stepSeconds, 0, 0, worldManager);
+
+            // Run aground on an island? Push off like the player would
+            if (!route.isAnchored() && boat.getVelocity().len() < STUCK_SPEED) {
+                stuckTime += stepSeconds;
+                if (stuckTime > STUCK_SECONDS) {
+                    boat.kickOff(worldManager);
+                    result.kicks++;
+                    stuckTime = 0;
+                }
+            } else {
+                stuckTime = 0;
+            }
+
+            result.distance += Vector2.dst(lastX, lastY, position.x, position.y);
+            lastX = position.x;
+            lastY = position.y;
+        }
+
+        result.wallNanos = System.nanoTime() - start;
+        result.ticks = ticks;
+        result.chunksGenerated = worldManager.getChunksGenerated() - chunksBefore;
+
+        for (GarbageCollectorMXBean gc : collectors) {
+            result.gcCount += Math.max(0, gc.getCollectionCount());
+            result.gcMillis += Math.max(0, gc.getCollectionTime());
+        }
+        result.gcCount -= gcCountBefore;
+        result.gcMillis -= gcMillisBefore;
+        // Pools peak at different moments, so the sum is an upper bound on the real high-water mark
+        for (MemoryPoolMXBean pool : pools) {
+            if (pool.getType() == MemoryType.HEAP) result.heapPeakBytes += pool.getPeakUsage().getUsed();
+        }
+
+        if (fleet != null) fleet.dispose();
+        worldManager.save();
+        worldManager.dispose();
+        return result;
+    }
+
+    // The simulation runs far faster than real time, so the boat can outrun the background
+    // generator. Unloaded chunks count as land, which would beach the boat on phantom terrain;
+    // wait for the chunks around it instead and report the wait separately.
+    private long waitForTerrain(WorldManager worldManager, Boat boat) {
+        Vector2 position = boat.getPosition();
+        int chunkX = WorldManager.toChunkCoord(position.x);
+        int chunkY = WorldManager.toChunkCoord(position.y);
+        if (terrainReady(worldManager, chunkX, chunkY)) return 0;
+
+        long start = System.nanoTime();
+        do {
+            Thread.yield();
+            worldManager.update(position, boat.getVelocity());
+        } while (!terrainReady(worldManager, chunkX, chunkY));
+        return System.nanoTime() - start;
+    }
+
+    private boolean terrainReady(WorldManager worldManager, int chunkX, int chunkY) {
+        for (int x = chunkX - 1; x <= chunkX + 1; x++) {
+            for (int y = chunkY - 1; y <= chunkY + 1; y++) {
+                if (worldManager.getChunk(x, y) == null) return false;
+            }
+        }
+        return true;
+    }
+
+    // Simple autopilot: swing the rudder towards an angle proportional to the heading error
+    private void steer(Boat boat, float targetX, float targetY) {
+        RudderPart rudder = boat.getRudder();
+        if (rudder == null) return;
+
+        Vector2 position = boat.getPosition();
+        // The boat's bow points along local +Y, i.e. 90 degrees past its angle
+        float desired = MathUtils.atan2(targetY - position.y, targetX - position.x) * MathUtils.radiansToDegrees - 90f;
+        float error = desired - boat.getAngle();
+        error = ((error % 360f) + 540f) % 360f - 180f; // Wrap to -180..180
+
+        // A positive rudder angle turns the boat towards a larger angle
+        float targetRudder = MathUtils.clamp(error, -45f, 45f);
+        // updateInput subtracts input * turnSpeed (90 deg/s) * delta from the rudder angle
+        float input = MathUtils.clamp((rudder.getAngle() - targetRudder) / (90f * stepSeconds), -1f, 1f);
+        rudder.updateInput(stepSeconds, input);
+    }
+}